@@ -1,9 +1,12 @@
 package com.example.quizlecikprojekt;
 
+import com.example.quizlecikprojekt.config.cache.ResettableCache;
 import com.example.quizlecikprojekt.entity.UserRole;
 import com.example.quizlecikprojekt.domain.user.UserRoleRepository;
 import com.example.quizlecikprojekt.domain.user.dto.UserRegisterDto;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,10 +29,14 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.List;
 
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -58,6 +65,9 @@ public class BaseIntegrationTest {
     @Autowired
     UserRoleRepository roleRepo;
 
+    @Autowired
+    List<ResettableCache> caches;
+
     @RegisterExtension
     public static WireMockExtension wireMockServer = WireMockExtension.newInstance()
             .options(wireMockConfig().dynamicPort())
@@ -88,6 +98,8 @@ public class BaseIntegrationTest {
         jdbcTemplate.execute("TRUNCATE TABLE users RESTART IDENTITY CASCADE");
         jdbcTemplate.execute("TRUNCATE TABLE videos RESTART IDENTITY CASCADE");
         jdbcTemplate.execute("TRUNCATE TABLE word_sets RESTART IDENTITY CASCADE");
+        // Restarted ids are handed out again, so nothing cached for the previous test may survive
+        resetCaches();
         roleRepo.findByName("USER")
                 .orElseGet(() -> {
                     UserRole r = new UserRole();
@@ -96,6 +108,10 @@ public class BaseIntegrationTest {
                 });
     }
 
+    protected void resetCaches() {
+        caches.forEach(ResettableCache::reset);
+    }
+
     @DynamicPropertySource
     public static void propertyOverride(DynamicPropertyRegistry registry) {
         registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
@@ -139,4 +155,98 @@ public class BaseIntegrationTest {
         return objectMapper.readTree(jsonResponse).get("token").asText();
     }
 
+    protected String registerAndLogin(String email, String name) throws Exception {
+        ObjectNode registerRequest = objectMapper.createObjectNode();
+        registerRequest.put("email", email);
+        registerRequest.put("password", "Password123!");
+        registerRequest.put("name", name);
+
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated());
+
+        ObjectNode loginRequest = objectMapper.createObjectNode();
+        loginRequest.put("email", email);
+        loginRequest.put("password", "Password123!");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/token")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    protected Long userId(String email) {
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    protected void befriend(String requesterEmail, String addresseeEmail) {
+        befriend(requesterEmail, addresseeEmail, "ACCEPTED");
+    }
+
+    // Straight into the table, so tests can set up friendships without the request flow
+    protected void befriend(String requesterEmail, String addresseeEmail, String status) {
+        jdbcTemplate.update(
+                "INSERT INTO friendships (requester_id, addressee_id, status, created_at, updated_at)"
+                        + " SELECT r.id, a.id, ?, now(), now() FROM users r, users a"
+                        + " WHERE r.email = ? AND a.email = ?",
+                status, requesterEmail, addresseeEmail);
+    }
+
+    protected JsonNode getJson(String token, String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    protected void sendPrivateMessage(String token, Long recipientId, String content) throws Exception {
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("recipientId", recipientId);
+        message.put("content", content);
+        mockMvc.perform(post("/api/messages/private")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(message)))
+                .andExpect(status().isCreated());
+    }
+
+    protected Long createWordSet(String token, String name) throws Exception {
+        ObjectNode wordSet = objectMapper.createObjectNode();
+        wordSet.put("name", name);
+        wordSet.put("description", "Test description");
+        wordSet.put("language", "en");
+        wordSet.put("translationLanguage", "pl");
+
+        MvcResult created = mockMvc.perform(post("/api/word-sets")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(wordSet)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    // Three words, enough for a short learn session
+    protected Long createWordSetWithWords(String token, String name) throws Exception {
+        Long wordSetId = createWordSet(token, name);
+
+        ObjectNode words = objectMapper.createObjectNode();
+        ArrayNode wordsArray = words.putArray("words");
+        for (String[] pair : new String[][] {{"hello", "cześć"}, {"goodbye", "do widzenia"}, {"thank you", "dziękuję"}}) {
+            ObjectNode word = wordsArray.addObject();
+            word.put("word", pair[0]);
+            word.put("translation", pair[1]);
+        }
+
+        mockMvc.perform(post("/api/word-sets/" + wordSetId + "/words")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(words)))
+                .andExpect(status().isCreated());
+        return wordSetId;
+    }
 }
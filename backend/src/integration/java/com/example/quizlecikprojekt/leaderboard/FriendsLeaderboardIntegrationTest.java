@@ -0,0 +1,85 @@
+package com.example.quizlecikprojekt.leaderboard;
+
+import com.example.quizlecikprojekt.BaseIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class FriendsLeaderboardIntegrationTest extends BaseIntegrationTest {
+
+    @Test
+    void shouldRankUserAmongAcceptedFriendsForTheWeek() throws Exception {
+        String alice = registerAndLogin("alice@example.com", "alice");
+        String bob = registerAndLogin("bob@example.com", "bob");
+        String carol = registerAndLogin("carol@example.com", "carol");
+        String dave = registerAndLogin("dave@example.com", "dave");
+
+        recordStudySession(alice, 30, 20, 10);
+        recordStudySession(bob, 50, 10, 40);
+        recordStudySession(carol, 10, 10, 0);
+        recordStudySession(dave, 99, 99, 0);
+
+        befriend("alice@example.com", "bob@example.com", "ACCEPTED");
+        befriend("carol@example.com", "alice@example.com", "ACCEPTED");
+        befriend("alice@example.com", "dave@example.com", "PENDING");
+
+        JsonNode words = getLeaderboard(alice, "/friends?metric=words");
+        assertEquals("week", words.get("period").asText());
+        assertEquals(3, words.get("entries").size());
+        assertEntry(words.get("entries").get(0), 1, "bob", 50);
+        assertEntry(words.get("entries").get(1), 2, "alice", 30);
+        assertEntry(words.get("entries").get(2), 3, "carol", 10);
+        assertEntry(words.get("currentUser"), 2, "alice", 30);
+
+        // Removing a friend drops the cached friend list
+        Long bobId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = ?", Long.class, "bob@example.com");
+        mockMvc.perform(delete("/api/friendships/" + bobId)
+                        .header("Authorization", "Bearer " + alice))
+                .andExpect(status().isOk());
+
+        JsonNode afterRemoval = getLeaderboard(alice, "/friends");
+        assertEquals(2, afterRemoval.get("entries").size());
+        assertEntry(afterRemoval.get("currentUser"), 1, "alice", 30);
+    }
+
+    private void assertEntry(JsonNode entry, int rank, String userName, int score) {
+        assertEquals(rank, entry.get("rank").asInt());
+        assertEquals(userName, entry.get("userName").asText());
+        assertEquals(score, entry.get("score").asInt());
+    }
+
+    private JsonNode getLeaderboard(String token, String query) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/leaderboard" + query)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private void recordStudySession(String token, int totalWords, int correct, int incorrect)
+            throws Exception {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("wordSetId", createWordSet(token, "Leaderboard set"));
+        request.put("totalWordsStudied", totalWords);
+        request.put("correctAnswers", correct);
+        request.put("incorrectAnswers", incorrect);
+        request.put("sessionType", "mixed");
+
+        mockMvc.perform(post("/api/progress/record-session")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.quizlecikprojekt.leaderboard;
+
+import com.example.quizlecikprojekt.BaseIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The standings live in memory for the whole context, so everything is checked in one test
+public class LeaderboardIntegrationTest extends BaseIntegrationTest {
+
+    @Test
+    void shouldRankUsersAsProgressIsRecorded() throws Exception {
+        String alice = registerAndLogin("alice@example.com", "alice");
+        String bob = registerAndLogin("bob@example.com", "bob");
+        String carol = registerAndLogin("carol@example.com", "carol");
+
+        recordStudySession(alice, 30, 20, 10);
+        recordStudySession(bob, 50, 10, 40);
+        recordStudySession(carol, 10, 10, 0);
+
+        JsonNode weeklyWords = getLeaderboard(carol, "?metric=words&period=week");
+        assertEquals("words", weeklyWords.get("metric").asText());
+        assertEquals("week", weeklyWords.get("period").asText());
+        assertEquals(3, weeklyWords.get("entries").size());
+        assertEntry(weeklyWords.get("entries").get(0), 1, "bob", 50);
+        assertEntry(weeklyWords.get("entries").get(1), 2, "alice", 30);
+        assertEntry(weeklyWords.get("entries").get(2), 3, "carol", 10);
+        assertEntry(weeklyWords.get("currentUser"), 3, "carol", 10);
+
+        // Carol answered fewer than the minimum number of questions to be ranked on accuracy
+        JsonNode accuracy = getLeaderboard(carol, "?metric=accuracy&period=all-time");
+        assertEquals(2, accuracy.get("entries").size());
+        assertEquals("alice", accuracy.get("entries").get(0).get("userName").asText());
+        assertEquals(66.67, accuracy.get("entries").get(0).get("score").asDouble(), 0.01);
+        assertTrue(accuracy.get("currentUser").isNull());
+
+        recordStudySession(carol, 45, 40, 5);
+
+        JsonNode updated = getLeaderboard(alice, "?metric=words&limit=2");
+        assertEquals(2, updated.get("entries").size());
+        assertEntry(updated.get("entries").get(0), 1, "carol", 55);
+        assertEntry(updated.get("entries").get(1), 2, "bob", 50);
+        assertEntry(updated.get("currentUser"), 3, "alice", 30);
+
+        JsonNode streaks = getLeaderboard(alice, "?metric=streak&period=all-time");
+        assertEquals(3, streaks.get("entries").size());
+        assertEquals(1, streaks.get("currentUser").get("score").asInt());
+    }
+
+    @Test
+    void shouldRejectUnknownMetric() throws Exception {
+        String token = getJWTToken();
+
+        mockMvc.perform(get("/api/leaderboard")
+                        .param("metric", "points")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertEntry(JsonNode entry, int rank, String userName, int score) {
+        assertEquals(rank, entry.get("rank").asInt());
+        assertEquals(userName, entry.get("userName").asText());
+        assertEquals(score, entry.get("score").asInt());
+    }
+
+    private JsonNode getLeaderboard(String token, String query) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/leaderboard" + query)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private void recordStudySession(String token, int totalWords, int correct, int incorrect)
+            throws Exception {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("wordSetId", createWordSet(token, "Leaderboard set"));
+        request.put("totalWordsStudied", totalWords);
+        request.put("correctAnswers", correct);
+        request.put("incorrectAnswers", incorrect);
+        request.put("sessionType", "mixed");
+
+        mockMvc.perform(post("/api/progress/record-session")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+}
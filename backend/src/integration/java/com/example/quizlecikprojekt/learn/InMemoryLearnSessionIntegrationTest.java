@@ -0,0 +1,151 @@
+package com.example.quizlecikprojekt.learn;
+
+import com.example.quizlecikprojekt.BaseIntegrationTest;
+import com.example.quizlecikprojekt.domain.learn.LearnSessionStore;
+import com.example.quizlecikprojekt.domain.learn.dto.FlashcardSession;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two heap entries and a ten minute idle limit; the sweeper is pushed out of the way so only the
+// tests decide when expired sessions are evicted
+@Import(InMemoryLearnSessionIntegrationTest.FixedClockConfig.class)
+@TestPropertySource(properties = {
+        "learn.session.max-entries=2",
+        "learn.session.idle-ttl=PT10M",
+        "learn.session.sweep-interval=PT1H"
+})
+public class InMemoryLearnSessionIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private LearnSessionStore<FlashcardSession> flashcardSessionStore;
+
+    @Autowired
+    private FixedClock clock;
+
+    @BeforeEach
+    void resetClock() {
+        // Tokens are issued on this clock but verified on the system one, so start from real time
+        clock.set(Instant.now());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedSessionOverMaxEntries() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createWordSetWithWords(token, "In-memory Test Set");
+        String first = startFlashcardSession(token, wordSetId);
+        String second = startFlashcardSession(token, wordSetId);
+
+        // Reading the first session makes the second one the least recently used
+        getFlashcardSession(token, first).andExpect(status().isOk());
+        String third = startFlashcardSession(token, wordSetId);
+
+        assertEquals(2, flashcardSessionStore.size());
+        getFlashcardSession(token, second).andExpect(status().isNotFound());
+        getFlashcardSession(token, first).andExpect(status().isOk());
+        getFlashcardSession(token, third).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldExpireSessionsIdleLongerThanTtl() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createWordSetWithWords(token, "In-memory Test Set");
+        String active = startFlashcardSession(token, wordSetId);
+        String idle = startFlashcardSession(token, wordSetId);
+
+        clock.advance(Duration.ofMinutes(6));
+        getFlashcardSession(token, active).andExpect(status().isOk());
+        clock.advance(Duration.ofMinutes(5));
+
+        // Eleven minutes idle against five since the last read
+        assertEquals(1, flashcardSessionStore.evictExpired());
+        assertEquals(1, flashcardSessionStore.size());
+        getFlashcardSession(token, idle).andExpect(status().isNotFound());
+        getFlashcardSession(token, active).andExpect(status().isOk());
+
+        // A read finds an expired session on its own, without waiting for the sweeper
+        clock.advance(Duration.ofMinutes(11));
+        getFlashcardSession(token, active).andExpect(status().isNotFound());
+        assertEquals(0, flashcardSessionStore.size());
+    }
+
+    private ResultActions getFlashcardSession(String token, String sessionId)
+            throws Exception {
+        return mockMvc.perform(get("/api/learn/flashcards/" + sessionId)
+                .header("Authorization", "Bearer " + token));
+    }
+
+    private String startFlashcardSession(String token, Long wordSetId) throws Exception {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("wordSetId", wordSetId);
+
+        MvcResult result = mockMvc.perform(post("/api/learn/flashcards/start")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .get("sessionId").asText();
+    }
+
+    @TestConfiguration
+    static class FixedClockConfig {
+
+        @Bean
+        @Primary
+        FixedClock fixedClock() {
+            return new FixedClock();
+        }
+    }
+
+    // Stands still until a test moves it
+    static class FixedClock extends Clock {
+
+        private volatile Instant instant = Instant.now();
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return Clock.fixed(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -350,6 +350,88 @@ public class LearnIntegrationTest extends BaseIntegrationTest {
         assertTrue(response.has("accuracy"));
     }
 
+    @Test
+    void shouldStartReviewSessionWithOnlyCardsThatAreNotYetScheduled() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createTestWordSetWithWords(token);
+
+        JsonNode first = startReviewSession(token, wordSetId, 2);
+        assertEquals(2, first.get("totalWords").asInt());
+        assertFalse(first.get("isCompleted").asBoolean());
+
+        String sessionId = first.get("sessionId").asText();
+        for (boolean correct : List.of(true, false)) {
+            ObjectNode answerRequest = objectMapper.createObjectNode();
+            answerRequest.put("sessionId", sessionId);
+            answerRequest.put("isCorrect", correct);
+
+            mockMvc.perform(post("/api/learn/flashcards/answer")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(answerRequest)))
+                    .andExpect(status().isOk());
+        }
+
+        // Both reviewed cards are scheduled for later, so only the unseen one is left
+        JsonNode second = startReviewSession(token, wordSetId, 10);
+        assertEquals(1, second.get("totalWords").asInt());
+        assertNotEquals(
+                first.get("currentCard").get("wordId").asLong(),
+                second.get("currentCard").get("wordId").asLong());
+    }
+
+    @Test
+    void shouldRejectReviewSessionWhenNothingIsDue() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createTestWordSetWithWords(token);
+
+        String sessionId = startReviewSession(token, wordSetId, 10).get("sessionId").asText();
+        for (int i = 0; i < 3; i++) {
+            ObjectNode answerRequest = objectMapper.createObjectNode();
+            answerRequest.put("sessionId", sessionId);
+            answerRequest.put("isCorrect", true);
+
+            mockMvc.perform(post("/api/learn/flashcards/answer")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(answerRequest)))
+                    .andExpect(status().isOk());
+        }
+
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("wordSetId", wordSetId);
+        request.put("mode", "review");
+
+        MvcResult result = mockMvc.perform(post("/api/learn/flashcards/start")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        assertEquals("No cards are due for review in this word set",
+                objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                        .get("message").asText());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM word_reviews WHERE word_set_id = ?", Integer.class, wordSetId));
+    }
+
+    @Test
+    void shouldRejectUnknownFlashcardMode() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createTestWordSetWithWords(token);
+
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("wordSetId", wordSetId);
+        request.put("mode", "alphabetical");
+
+        mockMvc.perform(post("/api/learn/flashcards/start")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     // Helper methods
     private Long createTestWordSetWithWords(String token) throws Exception {
         Long wordSetId = createTestWordSet(token, "Learn Test Set", "For learning tests");
@@ -417,6 +499,22 @@ public class LearnIntegrationTest extends BaseIntegrationTest {
         return objectMapper.readTree(responseJson).get("sessionId").asText();
     }
 
+    private JsonNode startReviewSession(String token, Long wordSetId, int limit) throws Exception {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("wordSetId", wordSetId);
+        request.put("mode", "review");
+        request.put("limit", limit);
+
+        MvcResult result = mockMvc.perform(post("/api/learn/flashcards/start")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
     private String startQuizSession(String token) throws Exception {
         Long wordSetId = createTestWordSetWithWords(token);
 
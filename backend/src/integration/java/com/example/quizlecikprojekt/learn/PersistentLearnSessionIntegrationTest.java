@@ -0,0 +1,147 @@
+package com.example.quizlecikprojekt.learn;
+
+import com.example.quizlecikprojekt.BaseIntegrationTest;
+import com.example.quizlecikprojekt.domain.learn.LearnSessionStore;
+import com.example.quizlecikprojekt.domain.learn.dto.FlashcardSession;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// One heap entry, so starting a second session pushes the first one out of memory
+@TestPropertySource(properties = {
+        "learn.session.persistent=true",
+        "learn.session.max-entries=1"
+})
+public class PersistentLearnSessionIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private LearnSessionStore<FlashcardSession> flashcardSessionStore;
+
+    @Test
+    void shouldWriteEverySessionChangeThrough() throws Exception {
+        String token = getJWTToken();
+        String sessionId = startFlashcardSession(token, createWordSetWithWords(token, "Persistent Test Set"));
+        assertEquals(0L, version(sessionId));
+
+        answerFlashcard(token, sessionId);
+        answerFlashcard(token, sessionId);
+        assertEquals(2L, version(sessionId));
+
+        mockMvc.perform(delete("/api/learn/flashcards/" + sessionId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        assertEquals(0, rows(sessionId));
+        mockMvc.perform(delete("/api/learn/flashcards/" + sessionId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRecoverSessionMissingFromHeap() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createWordSetWithWords(token, "Persistent Test Set");
+        String evicted = startFlashcardSession(token, wordSetId);
+        answerFlashcard(token, evicted);
+
+        startFlashcardSession(token, wordSetId);
+        assertEquals(1, flashcardSessionStore.size());
+
+        JsonNode recovered = getFlashcardSession(token, evicted);
+        assertEquals(1, recovered.get("currentIndex").asInt());
+        assertEquals(1, recovered.get("score").asInt());
+        assertEquals(2, answerFlashcard(token, evicted).get("currentIndex").asInt());
+    }
+
+    @Test
+    void shouldReadThroughWhenAnotherReplicaWroteNewerProgress() throws Exception {
+        String token = getJWTToken();
+        String sessionId = startFlashcardSession(token, createWordSetWithWords(token, "Persistent Test Set"));
+        answerFlashcard(token, sessionId);
+        byte[] afterFirstAnswer = jdbcTemplate.queryForObject(
+                "SELECT progress FROM learn_sessions WHERE session_id = ?", byte[].class, sessionId);
+        answerFlashcard(token, sessionId);
+
+        // Another replica moves the session on; this one still holds the copy after two answers
+        jdbcTemplate.update(
+                "UPDATE learn_sessions SET progress = ?, version = version + 1 WHERE session_id = ?",
+                afterFirstAnswer, sessionId);
+
+        assertEquals(1, getFlashcardSession(token, sessionId).get("currentIndex").asInt());
+        assertEquals(2, answerFlashcard(token, sessionId).get("currentIndex").asInt());
+        assertEquals(4L, version(sessionId));
+    }
+
+    @Test
+    void shouldDeleteExpiredSessions() throws Exception {
+        String token = getJWTToken();
+        String sessionId = startFlashcardSession(token, createWordSetWithWords(token, "Persistent Test Set"));
+        jdbcTemplate.update(
+                "UPDATE learn_sessions SET expires_at = now() - interval '1 minute' WHERE session_id = ?",
+                sessionId);
+
+        // The heap copy is not trusted once the row has expired
+        mockMvc.perform(get("/api/learn/flashcards/" + sessionId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+
+        assertEquals(1, rows(sessionId));
+        assertTrue(flashcardSessionStore.evictExpired() >= 1);
+        assertEquals(0, rows(sessionId));
+    }
+
+    private Long version(String sessionId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT version FROM learn_sessions WHERE session_id = ?", Long.class, sessionId);
+    }
+
+    private int rows(String sessionId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM learn_sessions WHERE session_id = ?", Integer.class, sessionId);
+    }
+
+    private JsonNode getFlashcardSession(String token, String sessionId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/learn/flashcards/" + sessionId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private JsonNode answerFlashcard(String token, String sessionId) throws Exception {
+        ObjectNode answerRequest = objectMapper.createObjectNode();
+        answerRequest.put("sessionId", sessionId);
+        answerRequest.put("isCorrect", true);
+
+        MvcResult result = mockMvc.perform(post("/api/learn/flashcards/answer")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(answerRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private String startFlashcardSession(String token, Long wordSetId) throws Exception {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("wordSetId", wordSetId);
+
+        MvcResult result = mockMvc.perform(post("/api/learn/flashcards/start")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .get("sessionId").asText();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.quizlecikprojekt.learn;
+
+import com.example.quizlecikprojekt.BaseIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "learn.session.stateless=true",
+        "learn.session.token-secret=stateless-integration-test-secret"
+})
+public class StatelessLearnSessionIntegrationTest extends BaseIntegrationTest {
+
+    @Test
+    void shouldRejectReplayedAnswerToken() throws Exception {
+        String token = getJWTToken();
+        String first = startFlashcardSession(token, createWordSetWithWords(token, "Stateless Test Set"));
+
+        JsonNode answered = answerFlashcard(token, first, status().isOk());
+        assertEquals(1, answered.get("score").asInt());
+        String second = answered.get("sessionId").asText();
+        assertNotEquals(first, second);
+
+        // The first token was burned by the answer, so replaying it can neither score nor be read
+        answerFlashcard(token, first, status().isNotFound());
+        mockMvc.perform(get("/api/learn/flashcards/" + first)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+
+        JsonNode next = answerFlashcard(token, second, status().isOk());
+        assertEquals(2, next.get("currentIndex").asInt());
+        assertEquals(2, next.get("score").asInt());
+    }
+
+    @Test
+    void shouldEndSessionOnlyOnce() throws Exception {
+        String token = getJWTToken();
+        String started = startFlashcardSession(token, createWordSetWithWords(token, "Stateless Test Set"));
+        String sessionId = answerFlashcard(token, started, status().isOk()).get("sessionId").asText();
+
+        mockMvc.perform(delete("/api/learn/flashcards/" + sessionId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/learn/flashcards/" + sessionId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+        answerFlashcard(token, sessionId, status().isNotFound());
+    }
+
+    private JsonNode answerFlashcard(String token, String sessionId, ResultMatcher expected)
+            throws Exception {
+        ObjectNode answerRequest = objectMapper.createObjectNode();
+        answerRequest.put("sessionId", sessionId);
+        answerRequest.put("isCorrect", true);
+
+        MvcResult result = mockMvc.perform(post("/api/learn/flashcards/answer")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(answerRequest)))
+                .andExpect(expected)
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private String startFlashcardSession(String token, Long wordSetId) throws Exception {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("wordSetId", wordSetId);
+
+        MvcResult result = mockMvc.perform(post("/api/learn/flashcards/start")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .get("sessionId").asText();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.quizlecikprojekt.message;
+
+import com.example.quizlecikprojekt.BaseIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MessageHistoryIntegrationTest extends BaseIntegrationTest {
+
+    @Test
+    void shouldPageThroughConversationWithCursors() throws Exception {
+        String alice = registerAndLogin("alice@example.com", "alice");
+        String bob = registerAndLogin("bob@example.com", "bob");
+        Long aliceId = userId("alice@example.com");
+        Long bobId = userId("bob@example.com");
+        befriend("alice@example.com", "bob@example.com");
+
+        for (int i = 0; i < 7; i++) {
+            boolean fromAlice = i % 2 == 0;
+            sendPrivateMessage(fromAlice ? alice : bob, fromAlice ? bobId : aliceId, "m" + i);
+        }
+
+        List<List<String>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = getJson(alice, "/api/messages/private/conversation/" + bobId
+                    + "?limit=3" + (cursor != null ? "&before=" + cursor : ""));
+            pages.add(contents(page));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(List.of(List.of("m4", "m5", "m6"), List.of("m1", "m2", "m3"), List.of("m0")), pages);
+        assertEquals(List.of("m0", "m1", "m2", "m3", "m4", "m5", "m6"),
+                contents(getJson(bob, "/api/messages/private/conversation/" + aliceId)));
+    }
+
+    @Test
+    void shouldPageThroughGroupHistoryWithCursors() throws Exception {
+        String alice = registerAndLogin("alice@example.com", "alice");
+        registerAndLogin("bob@example.com", "bob");
+        Long bobId = userId("bob@example.com");
+
+        ObjectNode group = objectMapper.createObjectNode();
+        group.put("name", "Study group");
+        group.putArray("memberIds").add(bobId);
+        MvcResult created = mockMvc.perform(post("/api/messages/groups")
+                        .header("Authorization", "Bearer " + alice)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(group)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long groupId = objectMapper.readTree(created.getResponse().getContentAsString())
+                .get("id").asLong();
+
+        for (int i = 0; i < 5; i++) {
+            ObjectNode message = objectMapper.createObjectNode();
+            message.put("groupId", groupId);
+            message.put("content", "g" + i);
+            mockMvc.perform(post("/api/messages/group")
+                            .header("Authorization", "Bearer " + alice)
+                            .contentType(APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(message)))
+                    .andExpect(status().isCreated());
+        }
+
+        String path = "/api/messages/groups/" + groupId + "/messages";
+        JsonNode newest = getJson(alice, path + "?limit=2");
+        assertEquals(List.of("g3", "g4"), contents(newest));
+        JsonNode older = getJson(alice, path + "?limit=2&before=" + newest.get("nextCursor").asText());
+        assertEquals(List.of("g1", "g2"), contents(older));
+        JsonNode oldest = getJson(alice, path + "?limit=2&before=" + older.get("nextCursor").asText());
+        assertEquals(List.of("g0"), contents(oldest));
+        assertTrue(oldest.get("nextCursor").isNull());
+
+        mockMvc.perform(get(path + "?before=not-a-cursor")
+                        .header("Authorization", "Bearer " + alice))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldTrackUnreadCountsPerConversation() throws Exception {
+        String alice = registerAndLogin("alice@example.com", "alice");
+        String bob = registerAndLogin("bob@example.com", "bob");
+        String carol = registerAndLogin("carol@example.com", "carol");
+        Long aliceId = userId("alice@example.com");
+        Long bobId = userId("bob@example.com");
+        Long carolId = userId("carol@example.com");
+        befriend("alice@example.com", "bob@example.com");
+        befriend("alice@example.com", "carol@example.com");
+
+        assertEquals(0, getJson(alice, "/api/messages/my").get("unreadCount").asLong());
+
+        for (int i = 0; i < 3; i++) {
+            sendPrivateMessage(bob, aliceId, "b" + i);
+        }
+        sendPrivateMessage(carol, aliceId, "c0");
+        sendPrivateMessage(alice, bobId, "reply");
+
+        JsonNode info = getJson(alice, "/api/messages/my");
+        assertEquals(4, info.get("unreadCount").asLong());
+        assertEquals(3, info.get("unreadByPartner").get(bobId.toString()).asInt());
+        assertEquals(1, info.get("unreadByPartner").get(carolId.toString()).asInt());
+        assertEquals(1, getJson(bob, "/api/messages/my").get("unreadCount").asLong());
+
+        JsonNode marked = postJson(alice, "/api/messages/private/conversation/" + bobId + "/read");
+        assertEquals(3, marked.get("markedCount").asInt());
+        info = getJson(alice, "/api/messages/my");
+        assertEquals(1, info.get("unreadCount").asLong());
+        assertFalse(info.get("unreadByPartner").has(bobId.toString()));
+
+        // Reading again marks nothing and must not push the counter below zero
+        assertEquals(0, postJson(alice, "/api/messages/private/conversation/" + bobId + "/read")
+                .get("markedCount").asInt());
+        sendPrivateMessage(bob, aliceId, "b3");
+        info = getJson(alice, "/api/messages/my");
+        assertEquals(2, info.get("unreadCount").asLong());
+        assertEquals(1, info.get("unreadByPartner").get(bobId.toString()).asInt());
+    }
+
+    @Test
+    void shouldListInboxByLastActivity() throws Exception {
+        String alice = registerAndLogin("alice@example.com", "alice");
+        String bob = registerAndLogin("bob@example.com", "bob");
+        String carol = registerAndLogin("carol@example.com", "carol");
+        Long aliceId = userId("alice@example.com");
+        Long bobId = userId("bob@example.com");
+        Long carolId = userId("carol@example.com");
+        befriend("alice@example.com", "bob@example.com");
+        befriend("carol@example.com", "alice@example.com");
+
+        sendPrivateMessage(alice, bobId, "hi bob");
+        sendPrivateMessage(carol, aliceId, "hi alice");
+        sendPrivateMessage(bob, aliceId, "hi back");
+
+        assertEquals(2, getJson(alice, "/api/messages/my").get("conversationsCount").asInt());
+        assertEquals(List.of("hi back", "hi alice"), inbox(alice));
+
+        sendPrivateMessage(alice, carolId, "how are you");
+        assertEquals(List.of("how are you", "hi back"), inbox(alice));
+        assertEquals(List.of("how are you"), inbox(carol));
+    }
+
+    private JsonNode postJson(String token, String path) throws Exception {
+        MvcResult result = mockMvc.perform(post(path)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private List<String> contents(JsonNode page) {
+        List<String> contents = new ArrayList<>();
+        page.get("messages").forEach(message -> contents.add(message.get("content").asText()));
+        return contents;
+    }
+
+    private List<String> inbox(String token) throws Exception {
+        List<String> contents = new ArrayList<>();
+        getJson(token, "/api/messages/my").get("conversations")
+                .forEach(message -> contents.add(message.get("content").asText()));
+        return contents;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.quizlecikprojekt.message;
+
+import com.example.quizlecikprojekt.BaseIntegrationTest;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MessageStreamIntegrationTest extends BaseIntegrationTest {
+
+    @Test
+    void shouldPushPrivateAndGroupMessagesToOpenStreams() throws Exception {
+        String alice = registerAndLogin("alice@example.com", "alice");
+        String bob = registerAndLogin("bob@example.com", "bob");
+        String carol = registerAndLogin("carol@example.com", "carol");
+        Long bobId = userId("bob@example.com");
+        Long carolId = userId("carol@example.com");
+        befriend("alice@example.com", "bob@example.com");
+
+        // A header token and a query-string stream ticket both open a stream
+        MvcResult bobStream = mockMvc.perform(get("/api/messages/stream")
+                        .header("Authorization", "Bearer " + bob))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult carolStream = mockMvc.perform(get("/api/messages/stream")
+                        .param("ticket", streamTicket(carol)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ObjectNode privateMessage = objectMapper.createObjectNode();
+        privateMessage.put("recipientId", bobId);
+        privateMessage.put("content", "Hi Bob");
+        mockMvc.perform(post("/api/messages/private")
+                        .header("Authorization", "Bearer " + alice)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(privateMessage)))
+                .andExpect(status().isCreated());
+
+        ObjectNode group = objectMapper.createObjectNode();
+        group.put("name", "Study group");
+        group.putArray("memberIds").add(bobId).add(carolId);
+        MvcResult created = mockMvc.perform(post("/api/messages/groups")
+                        .header("Authorization", "Bearer " + alice)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(group)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long groupId = objectMapper.readTree(created.getResponse().getContentAsString())
+                .get("id").asLong();
+
+        ObjectNode groupMessage = objectMapper.createObjectNode();
+        groupMessage.put("groupId", groupId);
+        groupMessage.put("content", "Hi everyone");
+        mockMvc.perform(post("/api/messages/group")
+                        .header("Authorization", "Bearer " + alice)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(groupMessage)))
+                .andExpect(status().isCreated());
+
+        // Pushed off the sending request's thread, so wait for the group message to arrive
+        String bobEvents = awaitEvents(bobStream, "Hi everyone");
+        assertTrue(bobEvents.contains("event:connected"), bobEvents);
+        assertTrue(bobEvents.contains("event:private-message"), bobEvents);
+        assertTrue(bobEvents.contains("Hi Bob"), bobEvents);
+        assertTrue(bobEvents.contains("event:group-message"), bobEvents);
+
+        String carolEvents = awaitEvents(carolStream, "Hi everyone");
+        assertFalse(carolEvents.contains("Hi Bob"), carolEvents);
+        assertTrue(carolEvents.contains("Hi everyone"), carolEvents);
+    }
+
+    @Test
+    void shouldRejectStreamWithoutValidTicket() throws Exception {
+        String alice = registerAndLogin("alice@example.com", "alice");
+
+        mockMvc.perform(get("/api/messages/stream").param("ticket", "not-a-ticket"))
+                .andExpect(status().isUnauthorized());
+        // The login token is not a stream ticket, in either of the old or new parameters
+        mockMvc.perform(get("/api/messages/stream").param("ticket", alice))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/messages/stream").param("access_token", alice))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldNotAcceptStreamTicketAsBearerToken() throws Exception {
+        String ticket = streamTicket(registerAndLogin("alice@example.com", "alice"));
+
+        mockMvc.perform(get("/api/messages/my").header("Authorization", "Bearer " + ticket))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String streamTicket(String token) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/messages/stream/ticket")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("ticket").asText();
+    }
+
+    private String awaitEvents(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String events = stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        while (!events.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            events = stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        return events;
+    }
+}
@@ -165,6 +165,40 @@ public class EvaluationIntegrationTest extends BaseIntegrationTest {
         assertEquals(2, response.get("recentEvaluations").size());
     }
 
+    @Test
+    void shouldApplyEditedEvaluationsToSummaryTotals() throws Exception {
+        String token1 = getJWTToken();
+        String token2 = getJWTTokenForAnotherUser();
+        Long wordSetId = createTestWordSet(token1);
+        Long videoId = createTestVideo(token1, "Edited Video", "https://youtube.com/watch?v=edit");
+
+        evaluateWordSet(token1, wordSetId, 3, 3, "BEGINNER", "Okay");
+        evaluateWordSet(token2, wordSetId, 5, 4, "INTERMEDIATE", "Great");
+        // Editing replaces the first evaluation's contribution instead of adding another one
+        evaluateWordSet(token1, wordSetId, 1, 1, "INTERMEDIATE", "Worse on second look");
+
+        JsonNode wordSetSummary = getSummary(token1, "/api/evaluations/wordset/" + wordSetId);
+        assertEquals(2, wordSetSummary.get("totalEvaluations").asInt());
+        assertEquals(3.0, wordSetSummary.get("averageRating").asDouble(), 0.001);
+        assertEquals(2.5, wordSetSummary.get("averageUsefulnessRating").asDouble(), 0.001);
+        assertEquals(50.0, wordSetSummary.get("recommendationPercentage").asDouble(), 0.001);
+        assertEquals("INTERMEDIATE", wordSetSummary.get("mostCommonDifficulty").asText());
+        assertEquals("Worse on second look",
+                wordSetSummary.get("recentEvaluations").get(1).get("comment").asText());
+
+        evaluateVideo(token1, videoId, 5, "Loved it");
+        evaluateVideo(token1, videoId, 3, "Less so now");
+        evaluateVideo(token2, videoId, 4, "Good");
+
+        JsonNode videoSummary = getSummary(token1, "/api/evaluations/video/" + videoId);
+        assertEquals(2, videoSummary.get("totalEvaluations").asInt());
+        assertEquals(3.5, videoSummary.get("averageRating").asDouble(), 0.001);
+        assertEquals(5.0, videoSummary.get("averageUsefulnessRating").asDouble(), 0.001);
+        assertEquals(50.0, videoSummary.get("recommendationPercentage").asDouble(), 0.001);
+        assertEquals("ADVANCED", videoSummary.get("mostCommonDifficulty").asText());
+        assertEquals(2, videoSummary.get("recentEvaluations").size());
+    }
+
     @Test
     void shouldGetEmptyEvaluationSummaryForUnevaluatedResource() throws Exception {
         String token = getJWTToken();
@@ -412,6 +446,14 @@ public class EvaluationIntegrationTest extends BaseIntegrationTest {
         return objectMapper.readTree(responseJson).get("id").asLong();
     }
 
+    private JsonNode getSummary(String token, String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
     private void evaluateWordSet(String token, Long wordSetId, int rating,
                                  int usefulness, String difficulty, String comment) throws Exception {
         ObjectNode request = objectMapper.createObjectNode();
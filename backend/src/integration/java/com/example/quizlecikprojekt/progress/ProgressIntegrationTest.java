@@ -1,12 +1,28 @@
 package com.example.quizlecikprojekt.progress;
 
 import com.example.quizlecikprojekt.BaseIntegrationTest;
+import com.example.quizlecikprojekt.domain.learn.LearnSessionCompleted;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
@@ -15,6 +31,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 public class ProgressIntegrationTest extends BaseIntegrationTest {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Test
     void shouldGetProgressSummarySuccessfully() throws Exception {
         String token = getJWTToken();
@@ -60,6 +79,10 @@ public class ProgressIntegrationTest extends BaseIntegrationTest {
         JsonNode response = objectMapper.readTree(responseJson);
 
         assertTrue(response.isArray());
+        assertEquals(1, response.size());
+        assertEquals(10, response.get(0).get("totalWordsStudied").asInt());
+        assertEquals(8, response.get(0).get("totalCorrectAnswers").asInt());
+        assertEquals(15, response.get(0).get("totalStudyTimeMinutes").asInt());
     }
 
     @Test
@@ -88,6 +111,28 @@ public class ProgressIntegrationTest extends BaseIntegrationTest {
         assertTrue(response.get("monthlyProgress").isArray());
     }
 
+    @Test
+    void shouldReportMostActiveDayAndMostStudiedWordSet() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createTestWordSet(token, "Verbs");
+
+        recordStudySession(token, wordSetId, 10, 8, 2, 10, 0, 15);
+        recordStudySession(token, wordSetId, 5, 4, 1, 5, 1, 10);
+
+        JsonNode stats = getJson(token, "/api/progress/stats");
+
+        String today = LocalDate.now().getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+        assertEquals(today, stats.get("mostActiveDay").asText());
+        assertTrue(List.of("Morning", "Afternoon", "Evening", "Night")
+                .contains(stats.get("preferredStudyTime").asText()));
+
+        JsonNode wordSet = stats.get("mostStudiedWordSet");
+        assertEquals(wordSetId, wordSet.get("wordSetId").asLong());
+        assertEquals("Verbs", wordSet.get("wordSetTitle").asText());
+        assertEquals(15, wordSet.get("totalWordsStudied").asInt());
+        assertEquals(25, wordSet.get("totalStudyTimeMinutes").asInt());
+    }
+
     @Test
     void shouldRejectStudySessionWithInvalidData() throws Exception {
         String token = getJWTToken();
@@ -115,7 +160,210 @@ public class ProgressIntegrationTest extends BaseIntegrationTest {
         asserter.assertErrorResponse(result, expectedJson);
     }
 
+    @Test
+    void shouldRecordProgressWhenLearnSessionEnds() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createTestWordSet(token);
+        addWords(token, wordSetId, "one", "two", "three");
+
+        ObjectNode startRequest = objectMapper.createObjectNode();
+        startRequest.put("wordSetId", wordSetId);
+
+        MvcResult started = mockMvc.perform(post("/api/learn/flashcards/start")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(startRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        String sessionId = objectMapper.readTree(started.getResponse().getContentAsString())
+                .get("sessionId").asText();
+
+        for (boolean correct : new boolean[] {true, true, false}) {
+            ObjectNode answerRequest = objectMapper.createObjectNode();
+            answerRequest.put("sessionId", sessionId);
+            answerRequest.put("isCorrect", correct);
+
+            mockMvc.perform(post("/api/learn/flashcards/answer")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(answerRequest)))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(delete("/api/learn/flashcards/" + sessionId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Progress is written in the background, so wait for the next flush
+        JsonNode summary = null;
+        for (int attempt = 0; attempt < 50; attempt++) {
+            MvcResult result = mockMvc.perform(get("/api/progress/summary")
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            summary = objectMapper.readTree(
+                    result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+            if (summary.get("totalWordsStudied").asInt() > 0) {
+                break;
+            }
+            Thread.sleep(200);
+        }
+
+        assertEquals(3, summary.get("totalWordsStudied").asInt());
+        assertEquals(1, summary.get("totalFlashcardsCompleted").asInt());
+        assertEquals(0, summary.get("totalQuizzesCompleted").asInt());
+        JsonNode today = summary.get("recentProgress").get(0);
+        assertEquals(2, today.get("correctAnswers").asInt());
+        assertEquals(1, today.get("incorrectAnswers").asInt());
+    }
+
+    @Test
+    void shouldRecordOtherUsersWhenOneFlushedSessionFails() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createTestWordSet(token);
+        Long userId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = ?", Long.class, "loginuser@example.com");
+        LocalDateTime now = LocalDateTime.now();
+
+        // The unknown user fails its own group only; the same flush still records the real user
+        eventPublisher.publishEvent(new LearnSessionCompleted(
+                Long.MAX_VALUE, wordSetId, "quiz", 5, 5, 0, now.minusMinutes(3), now));
+        eventPublisher.publishEvent(new LearnSessionCompleted(
+                userId, wordSetId, "flashcard", 4, 3, 1, now.minusMinutes(2), now));
+
+        JsonNode summary = null;
+        for (int attempt = 0; attempt < 50; attempt++) {
+            summary = getJson(token, "/api/progress/summary");
+            if (summary.get("totalWordsStudied").asInt() > 0) {
+                break;
+            }
+            Thread.sleep(200);
+        }
+
+        assertEquals(4, summary.get("totalWordsStudied").asInt());
+        assertEquals(1, summary.get("totalFlashcardsCompleted").asInt());
+        assertEquals(0, summary.get("totalQuizzesCompleted").asInt());
+    }
+
+    @Test
+    void shouldRefreshCachedSummaryAndStatsAfterRecordingSession() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createTestWordSet(token);
+
+        recordStudySession(token, wordSetId, 10, 8, 2, 10, 0, 15);
+        assertEquals(10, getJson(token, "/api/progress/summary").get("totalWordsStudied").asInt());
+        assertEquals(10, getJson(token, "/api/progress/summary").get("totalWordsStudied").asInt());
+        assertEquals(1, getJson(token, "/api/progress/stats").get("totalDaysStudied").asInt());
+
+        recordStudySession(token, wordSetId, 5, 4, 1, 5, 1, 10);
+
+        assertEquals(15, getJson(token, "/api/progress/summary").get("totalWordsStudied").asInt());
+        JsonNode stats = getJson(token, "/api/progress/stats");
+        assertEquals(15, stats.get("weeklyProgress").get(0).get("totalWordsStudied").asInt());
+    }
+
+    @Test
+    void shouldBucketSessionsByTheUsersLocalDay() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createTestWordSet(token);
+        // UTC+14 and UTC-11 are never on the same calendar day
+        ZoneId ahead = ZoneId.of("Pacific/Kiritimati");
+        ZoneId behind = ZoneId.of("Pacific/Pago_Pago");
+
+        updateTimeZone(token, ahead.getId());
+        recordStudySession(token, wordSetId, 10, 8, 2, 10, 0, 15);
+        LocalDate aheadDay = LocalDate.now(ahead);
+
+        updateTimeZone(token, behind.getId());
+        recordStudySession(token, wordSetId, 5, 4, 1, 5, 1, 10);
+        LocalDate behindDay = LocalDate.now(behind);
+
+        JsonNode recent = getJson(token, "/api/progress/summary").get("recentProgress");
+        assertEquals(2, recent.size());
+        List<String> studyDates = new ArrayList<>();
+        recent.forEach(day -> studyDates.add(day.get("date").asText()));
+        assertTrue(studyDates.contains(aheadDay.toString()), studyDates::toString);
+        assertTrue(studyDates.contains(behindDay.toString()), studyDates::toString);
+    }
+
+    @Test
+    void shouldRejectUnknownTimeZone() throws Exception {
+        String token = getJWTToken();
+
+        mockMvc.perform(put("/api/users/me/time-zone")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"timeZone\": \"Mars/Olympus_Mons\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldNotLoseIncrementsWhenSessionsAreRecordedConcurrently() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createTestWordSet(token);
+        int threads = 8;
+        int sessionsPerThread = 10;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < sessionsPerThread; i++) {
+                    recordStudySession(token, wordSetId, 3, 2, 1, 1, 0, 2);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int sessions = threads * sessionsPerThread;
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM progress", Integer.class));
+
+        JsonNode summary = getJson(token, "/api/progress/summary");
+        assertEquals(3 * sessions, summary.get("totalWordsStudied").asInt());
+        assertEquals(sessions, summary.get("totalFlashcardsCompleted").asInt());
+        assertEquals(2 * sessions, summary.get("totalStudyTimeMinutes").asInt());
+        JsonNode today = summary.get("recentProgress").get(0);
+        assertEquals(2 * sessions, today.get("correctAnswers").asInt());
+        assertEquals(sessions, today.get("incorrectAnswers").asInt());
+        assertEquals(200.0 / 3, today.get("accuracyPercentage").asDouble(), 0.001);
+
+        JsonNode week = getJson(token, "/api/progress/weekly").get(0);
+        assertEquals(3 * sessions, week.get("totalWordsStudied").asInt());
+    }
+
     // Helper methods
+    private void updateTimeZone(String token, String timeZone) throws Exception {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("timeZone", timeZone);
+
+        mockMvc.perform(put("/api/users/me/time-zone")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNoContent());
+    }
+
+    private void addWords(String token, Long wordSetId, String... words) throws Exception {
+        ObjectNode request = objectMapper.createObjectNode();
+        ArrayNode wordsArray = request.putArray("words");
+        for (String word : words) {
+            wordsArray.addObject().put("word", word).put("translation", word + "-pl");
+        }
+
+        mockMvc.perform(post("/api/word-sets/" + wordSetId + "/words")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+
     private Long createTestWordSet(String token) throws Exception {
         return createTestWordSet(token, "New Word Set");
     }
@@ -0,0 +1,91 @@
+package com.example.quizlecikprojekt.progress;
+
+import com.example.quizlecikprojekt.BaseIntegrationTest;
+import com.example.quizlecikprojekt.domain.progress.ProgressFacade;
+import com.example.quizlecikprojekt.domain.progress.dto.ProgressSummaryResponse;
+import com.example.quizlecikprojekt.domain.user.UserFacade;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ProgressSummaryBenchmarkIntegrationTest extends BaseIntegrationTest {
+
+    private static final String EMAIL = "loginuser@example.com";
+    private static final int HISTORY_DAYS = 4 * 365;
+
+    @Autowired
+    private ProgressFacade progressFacade;
+
+    @Autowired
+    private UserFacade userFacade;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void summaryShouldReadHistoryInTwoStatementsRegardlessOfItsLength() throws Exception {
+        getJWTToken();
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, EMAIL);
+        LocalDate today = LocalDate.now();
+        int[] expected = seedHistory(userId, today);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        userFacade.getUserByEmail(EMAIL);
+        long userStatements = statistics.getPrepareStatementCount();
+        long userQueries = statistics.getQueryExecutionCount();
+
+        statistics.clear();
+        ProgressSummaryResponse summary = progressFacade.getProgressSummary(EMAIL);
+
+        // Beyond loading the user: the last 30 days of rows and one aggregate over the whole history
+        assertEquals(userStatements + 2, statistics.getPrepareStatementCount());
+        assertEquals(userQueries + 2, statistics.getQueryExecutionCount());
+
+        assertEquals(expected[0], summary.totalWordsStudied());
+        assertEquals(expected[1], summary.totalStudyTimeMinutes());
+        assertEquals(today, summary.lastStudyDate());
+        assertEquals(HISTORY_DAYS, summary.longestStreak());
+        assertEquals(HISTORY_DAYS, summary.currentStreak());
+        assertEquals(31, summary.recentProgress().size());
+    }
+
+    // Returns the expected total words and minutes
+    private int[] seedHistory(Long userId, LocalDate today) {
+        int words = 0;
+        int minutes = 0;
+        List<Object[]> rows = new ArrayList<>();
+        for (int day = HISTORY_DAYS - 1; day >= 0; day--) {
+            int correct = 5 + day % 7;
+            int incorrect = day % 3;
+            words += correct + incorrect;
+            minutes += 10 + day % 5;
+            rows.add(new Object[]{userId, Date.valueOf(today.minusDays(day)), correct + incorrect,
+                    correct, incorrect, 1, day % 2, 10 + day % 5,
+                    100.0 * correct / (correct + incorrect)});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO progress (user_id, study_date, total_words_studied, correct_answers,"
+                        + " incorrect_answers, flashcards_completed, quizzes_completed, study_time_minutes,"
+                        + " accuracy_percentage, streak_count, created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, now(), now())",
+                rows);
+        jdbcTemplate.update(
+                "INSERT INTO user_streaks (user_id, current_streak, longest_streak, last_study_date)"
+                        + " VALUES (?, ?, ?, ?)",
+                userId, HISTORY_DAYS, HISTORY_DAYS, Date.valueOf(today));
+        return new int[]{words, minutes};
+    }
+}
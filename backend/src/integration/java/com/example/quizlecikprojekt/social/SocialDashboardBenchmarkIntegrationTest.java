@@ -0,0 +1,124 @@
+package com.example.quizlecikprojekt.social;
+
+import com.example.quizlecikprojekt.BaseIntegrationTest;
+import com.example.quizlecikprojekt.domain.friendship.SocialFacade;
+import com.example.quizlecikprojekt.domain.friendship.service.FriendshipService;
+import com.example.quizlecikprojekt.domain.friendship.service.MessageService;
+import com.example.quizlecikprojekt.domain.user.UserFacade;
+import com.example.quizlecikprojekt.entity.Friendship;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class SocialDashboardBenchmarkIntegrationTest extends BaseIntegrationTest {
+
+    private static final String ALICE = "alice@example.com";
+
+    @Autowired
+    private SocialFacade socialFacade;
+
+    @Autowired
+    private FriendshipService friendshipService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private UserFacade userFacade;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshotDashboardShouldIssueFewerStatementsThanSequentialAssemblyOnOneConnection() throws Exception {
+        String alice = registerAndLogin(ALICE, "alice");
+        Long aliceId = userId(ALICE);
+        for (int i = 0; i < 3; i++) {
+            String email = "friend" + i + "@example.com";
+            String friend = registerAndLogin(email, "friend" + i);
+            befriend(ALICE, email, "ACCEPTED");
+            sendPrivateMessage(friend, aliceId, "hello " + i);
+        }
+        for (int i = 0; i < 2; i++) {
+            String email = "stranger" + i + "@example.com";
+            registerAndLogin(email, "stranger" + i);
+            befriend(email, ALICE, "PENDING");
+        }
+        registerAndLogin("carol@example.com", "carol");
+        befriend(ALICE, "carol@example.com", "PENDING");
+        sendPrivateMessage(alice, userId("friend0@example.com"), "hi back");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Both are measured on the same data with cold caches, so the counts differ only by the
+        // calls each makes
+        resetCaches();
+        statistics.clear();
+        long legacyUnread = sequentialDashboard(ALICE);
+        long sequentialStatements = statistics.getPrepareStatementCount();
+        long sequentialConnections = statistics.getConnectCount();
+
+        resetCaches();
+        statistics.clear();
+        Map<String, Object> dashboard = socialFacade.getUserSocialDashboard(ALICE);
+        long snapshotStatements = statistics.getPrepareStatementCount();
+        long snapshotConnections = statistics.getConnectCount();
+
+        System.out.printf("Social dashboard SQL statements: sequential assembly %d on %d connections,"
+                + " snapshot %d on %d%n", sequentialStatements, sequentialConnections, snapshotStatements,
+                snapshotConnections);
+        assertTrue(snapshotStatements < sequentialStatements,
+                "snapshot dashboard (" + snapshotStatements + " statements) should issue fewer than the"
+                        + " sequential assembly (" + sequentialStatements + ")");
+        assertEquals(1, snapshotConnections);
+
+        Map<String, Object> stats = (Map<String, Object>) dashboard.get("stats");
+        assertEquals(3, stats.get("totalFriends"));
+        assertEquals(2, stats.get("pendingFriendRequests"));
+        assertEquals(3L, stats.get("unreadMessages"));
+        assertEquals(legacyUnread, stats.get("unreadMessages"));
+        Map<String, Object> messagingInfo = (Map<String, Object>) dashboard.get("messagingInfo");
+        assertEquals(3, messagingInfo.get("conversationsCount"));
+        Map<String, Object> friendshipInfo = (Map<String, Object>) dashboard.get("friendshipInfo");
+        assertEquals(1, friendshipInfo.get("sentRequestsCount"));
+    }
+
+    // The calls getUserSocialDashboard used to make one after another: the user looked up by email
+    // for itself and again for the friendship and messaging sections, then friends, unread count and
+    // pending requests read again for the stats and quick actions
+    private long sequentialDashboard(String email) {
+        Long userId = userFacade.getUserByEmail(email).getId();
+
+        Long friendshipUserId = userFacade.getUserByEmail(email).getId();
+        friendshipService.getUserFriends(friendshipUserId);
+        friendshipService.getPendingFriendRequests(friendshipUserId).forEach(this::touch);
+        friendshipService.getSentFriendRequests(friendshipUserId).forEach(this::touch);
+        friendshipService.getSuggestedFriends(friendshipUserId);
+
+        Long messagingUserId = userFacade.getUserByEmail(email).getId();
+        messageService.getUserConversations(messagingUserId);
+        messageService.getUnreadMessages(messagingUserId);
+        messageService.getUnreadMessageCount(messagingUserId);
+
+        friendshipService.getUserFriends(userId);
+        long unread = messageService.getUnreadMessageCount(userId);
+        friendshipService.getPendingFriendRequests(userId);
+        messageService.getUnreadMessageCount(userId);
+        friendshipService.getPendingFriendRequests(userId);
+        return unread;
+    }
+
+    private void touch(Friendship friendship) {
+        friendship.getRequester().getName();
+        friendship.getAddressee().getName();
+    }
+}
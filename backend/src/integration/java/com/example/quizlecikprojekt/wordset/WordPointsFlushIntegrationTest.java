@@ -0,0 +1,175 @@
+package com.example.quizlecikprojekt.wordset;
+
+import com.example.quizlecikprojekt.BaseIntegrationTest;
+import com.example.quizlecikprojekt.domain.wordset.WordFacade;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The timer is pushed out of the way, so only the flushes these tests request reach the database
+@TestPropertySource(properties = "learn.points.flush-interval=PT1H")
+public class WordPointsFlushIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private WordFacade wordFacade;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldFlushPointsOfAnsweredCardsToWords() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createWordSetWithWords(token, "Points Test Set");
+
+        // Every session end asks for a flush too; however the requests coalesce, each right answer
+        // is counted exactly once and wrong answers not at all
+        playFlashcardSession(token, wordSetId, true);
+        playFlashcardSession(token, wordSetId, true);
+        playFlashcardSession(token, wordSetId, false);
+        wordFacade.requestWordPointsFlush();
+
+        awaitTrue(() -> totalPoints(wordSetId) == 6);
+        assertEquals(List.of(2, 2, 2), points(wordSetId));
+    }
+
+    @Test
+    void shouldKeepPointsOfFailedFlushForTheNextOne() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createWordSetWithWords(token, "Points Test Set");
+        double failures = counter("learn.points.flush.failures");
+
+        jdbcTemplate.execute("ALTER TABLE words ADD CONSTRAINT no_points CHECK (COALESCE(points, 0) = 0)");
+        try {
+            // Ending the session requests the flush that fails
+            playFlashcardSession(token, wordSetId, true);
+            awaitTrue(() -> counter("learn.points.flush.failures") > failures);
+            assertEquals(0, totalPoints(wordSetId));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE words DROP CONSTRAINT no_points");
+        }
+
+        playFlashcardSession(token, wordSetId, true);
+        wordFacade.requestWordPointsFlush();
+
+        awaitTrue(() -> totalPoints(wordSetId) == 6);
+        assertEquals(List.of(2, 2, 2), points(wordSetId));
+    }
+
+    @Test
+    void shouldFlushMoreWordsThanOneUpdateTakes() throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createWordSetWithWords(token, "Points Test Set");
+        // Twice the 5000 ids a single UPDATE takes
+        int extraWords = 10_001;
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < extraWords; i++) {
+            rows.add(new Object[]{"word" + i, "translation" + i, wordSetId});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO words (word, translation, star, word_set_id, created_at, updated_at)"
+                        + " VALUES (?, ?, false, ?, now(), now())",
+                rows);
+
+        // One delta for most words and another for a few, so ids split by delta and by chunk
+        List<Long> wordIds = jdbcTemplate.queryForList(
+                "SELECT id FROM words WHERE word_set_id = ? ORDER BY id", Long.class, wordSetId);
+        for (int i = 0; i < wordIds.size(); i++) {
+            wordFacade.addWordPoints(wordIds.get(i), i % 1_000 == 0 ? 3 : 1);
+        }
+        wordFacade.requestWordPointsFlush();
+
+        int boosted = (wordIds.size() + 999) / 1_000;
+        int expected = wordIds.size() + 2 * boosted;
+        awaitTrue(() -> totalPoints(wordSetId) == expected);
+        assertEquals(boosted, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM words WHERE word_set_id = ? AND points = 3", Integer.class, wordSetId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM words WHERE word_set_id = ? AND points IS NULL", Integer.class, wordSetId));
+    }
+
+    @Test
+    @DirtiesContext
+    void shouldFlushPendingPointsOnShutdown(@Autowired GenericApplicationContext context)
+            throws Exception {
+        String token = getJWTToken();
+        Long wordSetId = createWordSetWithWords(token, "Points Test Set");
+        for (Long wordId : jdbcTemplate.queryForList(
+                "SELECT id FROM words WHERE word_set_id = ?", Long.class, wordSetId)) {
+            wordFacade.addWordPoints(wordId, 2);
+        }
+        assertEquals(0, totalPoints(wordSetId));
+
+        // Runs the buffer's shutdown callbacks as closing the context would, while the database
+        // stays up to be read
+        context.getDefaultListableBeanFactory().destroySingleton("wordPointsWriteBehindBuffer");
+
+        assertEquals(6, totalPoints(wordSetId));
+    }
+
+    private void playFlashcardSession(String token, Long wordSetId, boolean correct) throws Exception {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("wordSetId", wordSetId);
+        MvcResult started = mockMvc.perform(post("/api/learn/flashcards/start")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+        String sessionId = objectMapper.readTree(started.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .get("sessionId").asText();
+
+        for (int i = 0; i < 3; i++) {
+            ObjectNode answer = objectMapper.createObjectNode();
+            answer.put("sessionId", sessionId);
+            answer.put("isCorrect", correct);
+            mockMvc.perform(post("/api/learn/flashcards/answer")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(answer)))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(delete("/api/learn/flashcards/" + sessionId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private int totalPoints(Long wordSetId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(points), 0) FROM words WHERE word_set_id = ?", Integer.class, wordSetId);
+    }
+
+    private List<Integer> points(Long wordSetId) {
+        return jdbcTemplate.queryForList(
+                "SELECT COALESCE(points, 0) FROM words WHERE word_set_id = ? ORDER BY id", Integer.class, wordSetId);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.counter(name).count();
+    }
+
+    // Flushes run on their own thread, so wait for them instead of sleeping a fixed time
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the flush");
+            Thread.sleep(20);
+        }
+    }
+}
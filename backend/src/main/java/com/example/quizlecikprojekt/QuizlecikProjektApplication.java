@@ -1,6 +1,10 @@
 package com.example.quizlecikprojekt;
 
 import com.example.quizlecikprojekt.config.security.JwtConfigurationProperties;
+import com.example.quizlecikprojekt.domain.friendship.MessagePushProperties;
+import com.example.quizlecikprojekt.domain.leaderboard.LeaderboardProperties;
+import com.example.quizlecikprojekt.domain.learn.LearnSessionProperties;
+import com.example.quizlecikprojekt.domain.progress.ProgressCacheProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
@@ -10,7 +14,14 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableScheduling
 @SpringBootApplication(exclude = {FlywayAutoConfiguration.class})
-@EnableConfigurationProperties(value = JwtConfigurationProperties.class)
+@EnableConfigurationProperties(
+    value = {
+      JwtConfigurationProperties.class,
+      LearnSessionProperties.class,
+      ProgressCacheProperties.class,
+      LeaderboardProperties.class,
+      MessagePushProperties.class
+    })
 public class QuizlecikProjektApplication {
 
   public static void main(String[] args) {
@@ -0,0 +1,9 @@
+package com.example.quizlecikprojekt.config.cache;
+
+// In-memory state derived from database rows. Caches only see changes made through the
+// application, so after rows are changed underneath them (a restore, a manual fix, a test
+// truncating tables) they must be reset: dropped, or rebuilt from the database.
+public interface ResettableCache {
+
+  void reset();
+}
@@ -2,6 +2,7 @@ package com.example.quizlecikprojekt.config.security;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.auth0.jwt.interfaces.JWTVerifier;
 import jakarta.servlet.FilterChain;
@@ -22,6 +23,10 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @AllArgsConstructor
 public class JwtAuthTokenFilter extends OncePerRequestFilter {
 
+  private static final String MESSAGE_STREAM_PATH = "/api/messages/stream";
+  static final String PURPOSE_CLAIM = "purpose";
+  static final String STREAM_TICKET_PURPOSE = "message-stream";
+
   private final JwtConfigurationProperties properties;
 
   @Override
@@ -30,13 +35,21 @@ public class JwtAuthTokenFilter extends OncePerRequestFilter {
       throws ServletException, IOException {
 
     String authorization = request.getHeader("Authorization");
-    if (authorization == null) {
+    // Browsers' EventSource cannot set headers, so the message stream takes a short-lived stream
+    // ticket in the query string instead; the login token is never accepted there
+    String ticket =
+        authorization == null && MESSAGE_STREAM_PATH.equals(request.getRequestURI())
+            ? request.getParameter("ticket")
+            : null;
+    if (authorization == null && ticket == null) {
       filterChain.doFilter(request, response);
       return;
     }
     try {
       UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-          getUsernamePasswordAuthenticationToken(authorization);
+          ticket != null
+              ? getStreamTicketAuthenticationToken(ticket)
+              : getUsernamePasswordAuthenticationToken(authorization);
       SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
     } catch (Exception e) {
       log.error("Error processing JWT token: {}", e.getMessage());
@@ -49,6 +62,18 @@ public class JwtAuthTokenFilter extends OncePerRequestFilter {
     Algorithm algorithm = Algorithm.HMAC256(secretKey);
     JWTVerifier verifier = JWT.require(algorithm).build();
     DecodedJWT jwt = verifier.verify(token.substring(7));
+    // A stream ticket is only good for opening the stream, not as a bearer token
+    if (!jwt.getClaim(PURPOSE_CLAIM).isMissing()) {
+      throw new JWTVerificationException("Token cannot be used as a bearer token");
+    }
+    return new UsernamePasswordAuthenticationToken(jwt.getSubject(), null, Collections.emptyList());
+  }
+
+  private UsernamePasswordAuthenticationToken getStreamTicketAuthenticationToken(String ticket) {
+    Algorithm algorithm = Algorithm.HMAC256(properties.secret());
+    JWTVerifier verifier =
+        JWT.require(algorithm).withClaim(PURPOSE_CLAIM, STREAM_TICKET_PURPOSE).build();
+    DecodedJWT jwt = verifier.verify(ticket);
     return new UsernamePasswordAuthenticationToken(jwt.getSubject(), null, Collections.emptyList());
   }
 }
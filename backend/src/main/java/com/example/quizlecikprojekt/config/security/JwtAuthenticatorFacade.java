@@ -3,6 +3,7 @@ package com.example.quizlecikprojekt.config.security;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.example.quizlecikprojekt.controllers.loginandregister.dto.JwtResponseDto;
+import com.example.quizlecikprojekt.controllers.loginandregister.dto.StreamTicketDto;
 import com.example.quizlecikprojekt.controllers.loginandregister.dto.TokenRequestDto;
 
 
@@ -23,6 +24,9 @@ import org.springframework.stereotype.Component;
 @Component
 public class JwtAuthenticatorFacade {
 
+  // Long enough for the client to open the stream right after asking for the ticket
+  private static final Duration STREAM_TICKET_TTL = Duration.ofSeconds(30);
+
   private final AuthenticationManager authenticationManager;
   private final JwtConfigurationProperties properties;
   private final Clock clock;
@@ -57,6 +61,21 @@ public class JwtAuthenticatorFacade {
             .build();
   }
 
+  // A ticket that authenticates only the message stream, so the long-lived login token never has
+  // to travel in a query string where proxies and browser history keep it
+  public StreamTicketDto createStreamTicket(String email) {
+    Algorithm algorithm = Algorithm.HMAC256(properties.secret());
+    Instant now = LocalDateTime.now(clock).toInstant(ZoneOffset.UTC);
+    String ticket = JWT.create()
+            .withSubject(email)
+            .withClaim(JwtAuthTokenFilter.PURPOSE_CLAIM, JwtAuthTokenFilter.STREAM_TICKET_PURPOSE)
+            .withIssuedAt(now)
+            .withExpiresAt(now.plus(STREAM_TICKET_TTL))
+            .withIssuer(properties.issuer())
+            .sign(algorithm);
+    return new StreamTicketDto(ticket, STREAM_TICKET_TTL.toSeconds());
+  }
+
   private String createToken(User user) {
     String secretKey = properties.secret();
     Algorithm algorithm = Algorithm.HMAC256(secretKey);
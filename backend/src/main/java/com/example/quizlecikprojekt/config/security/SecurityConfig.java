@@ -2,6 +2,7 @@ package com.example.quizlecikprojekt.config.security;
 
 import com.example.quizlecikprojekt.domain.user.UserFacade;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.Map;
 import lombok.AllArgsConstructor;
@@ -53,7 +54,10 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
         .authorizeHttpRequests(
             auth ->
-                auth.requestMatchers("/swagger-ui/**")
+                // Completing a streamed response re-dispatches the already authorized request
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
+                    .requestMatchers("/swagger-ui/**")
                     .permitAll()
                     .requestMatchers("/swagger-ui")
                     .permitAll()
@@ -0,0 +1,40 @@
+package com.example.quizlecikprojekt.controllers;
+
+import com.example.quizlecikprojekt.domain.leaderboard.LeaderboardFacade;
+import com.example.quizlecikprojekt.domain.leaderboard.dto.LeaderboardResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/leaderboard")
+@CrossOrigin(origins = "http://68.183.66.208")
+public class LeaderboardController {
+
+  private final LeaderboardFacade leaderboardFacade;
+
+  @GetMapping
+  public ResponseEntity<LeaderboardResponse> getLeaderboard(
+      @RequestParam(defaultValue = "words") String metric,
+      @RequestParam(defaultValue = "week") String period,
+      @RequestParam(defaultValue = "10") int limit,
+      Authentication authentication) {
+
+    LeaderboardResponse leaderboard =
+        leaderboardFacade.getLeaderboard(authentication.getName(), metric, period, limit);
+
+    return ResponseEntity.ok(leaderboard);
+  }
+
+  @GetMapping("/friends")
+  public ResponseEntity<LeaderboardResponse> getFriendsLeaderboard(
+      @RequestParam(defaultValue = "words") String metric, Authentication authentication) {
+
+    LeaderboardResponse leaderboard =
+        leaderboardFacade.getFriendsLeaderboard(authentication.getName(), metric);
+
+    return ResponseEntity.ok(leaderboard);
+  }
+}
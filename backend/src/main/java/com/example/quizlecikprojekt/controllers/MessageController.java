@@ -1,19 +1,25 @@
 package com.example.quizlecikprojekt.controllers;
 
+import com.example.quizlecikprojekt.config.security.JwtAuthenticatorFacade;
 import com.example.quizlecikprojekt.controllers.dto.message.*;
+import com.example.quizlecikprojekt.controllers.loginandregister.dto.StreamTicketDto;
 import com.example.quizlecikprojekt.domain.friendship.SocialFacade;
 import com.example.quizlecikprojekt.entity.PrivateMessage;
+import com.example.quizlecikprojekt.domain.friendship.dto.MessagePage;
 import com.example.quizlecikprojekt.domain.friendship.dto.PrivateMessageDto;
 import com.example.quizlecikprojekt.domain.group.*;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -24,6 +30,7 @@ import java.util.Map;
 public class MessageController {
 
     private final SocialFacade socialFacade;
+    private final JwtAuthenticatorFacade jwtAuthenticatorFacade;
 
     @GetMapping("/my")
     public ResponseEntity<Map<String, Object>> getMyMessages(Authentication authentication) {
@@ -31,6 +38,18 @@ public class MessageController {
         return ResponseEntity.ok(messagingInfo);
     }
 
+    // Server-sent events: "private-message" and "group-message" for every message the user receives
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMessages(Authentication authentication) {
+        return socialFacade.openMessageStream(authentication.getName());
+    }
+
+    // EventSource cannot send headers, so clients trade their token for a ticket to pass as ?ticket=
+    @PostMapping("/stream/ticket")
+    public ResponseEntity<StreamTicketDto> createStreamTicket(Authentication authentication) {
+        return ResponseEntity.ok(jwtAuthenticatorFacade.createStreamTicket(authentication.getName()));
+    }
+
     @PostMapping("/private")
     public ResponseEntity<Map<String, Object>> sendPrivateMessage(
             @Valid @RequestBody SendPrivateMessageRequest messageRequest,
@@ -47,18 +66,34 @@ public class MessageController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // Newest page by default; pass nextCursor back as "before" for older messages
     @GetMapping("/private/conversation/{userId}")
     public ResponseEntity<Map<String, Object>> getConversation(
             @PathVariable Long userId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit,
             Authentication authentication) {
 
+        Map<String, Object> params = new HashMap<>();
+        params.put("before", before);
+        params.put("limit", limit);
         Map<String, Object> result = socialFacade.manageConversation(
-                authentication.getName(), userId, "get_messages", Map.of()
+                authentication.getName(), userId, "get_messages", params
         );
 
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping("/private/conversation/{userId}/read")
+    public ResponseEntity<Map<String, Object>> markConversationAsRead(
+            @PathVariable Long userId,
+            Authentication authentication) {
+        Map<String, Object> result = socialFacade.manageConversation(
+                authentication.getName(), userId, "mark_as_read", Map.of()
+        );
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping("/group")
     public ResponseEntity<Map<String, Object>> sendGroupMessage(
             @Valid @RequestBody SendGroupMessageRequest messageRequest,
@@ -91,9 +126,17 @@ public class MessageController {
     }
 
     @GetMapping("/groups/{groupId}/messages")
-    public ResponseEntity<?> getGroupMessages(@PathVariable Long groupId, Authentication auth) {
-        List<GroupMessageDto> messages = socialFacade.getGroupMessages(auth.getName(), groupId);
-        return ResponseEntity.ok(Map.of("messages", messages));
+    public ResponseEntity<?> getGroupMessages(
+            @PathVariable Long groupId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit,
+            Authentication auth) {
+        MessagePage<GroupMessageDto> page =
+                socialFacade.getGroupMessages(auth.getName(), groupId, before, limit);
+        Map<String, Object> response = new HashMap<>();
+        response.put("messages", page.messages());
+        response.put("nextCursor", page.nextCursor());
+        return ResponseEntity.ok(response);
     }
 
     public PrivateMessageDto toDto(PrivateMessage message) {
@@ -37,7 +37,6 @@ public class SocialDashboardController {
 
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getSocialStats(Authentication authentication) {
-        Map<String, Object> dashboard = socialFacade.getUserSocialDashboard(authentication.getName());
-        return ResponseEntity.ok((Map<String, Object>) dashboard.get("stats"));
+        return ResponseEntity.ok(socialFacade.getSocialStats(authentication.getName()));
     }
 }
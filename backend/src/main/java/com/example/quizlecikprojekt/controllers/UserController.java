@@ -1,9 +1,11 @@
 package com.example.quizlecikprojekt.controllers;
 
+import com.example.quizlecikprojekt.controllers.dto.TimeZoneRequest;
 import com.example.quizlecikprojekt.controllers.dto.UserDto;
 import com.example.quizlecikprojekt.domain.user.UserFacade;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,6 +26,13 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @PutMapping("/me/time-zone")
+    public ResponseEntity<Void> updateTimeZone(
+            @RequestBody TimeZoneRequest request, Authentication authentication) {
+        userFacade.updateTimeZone(authentication.getName(), request.timeZone());
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
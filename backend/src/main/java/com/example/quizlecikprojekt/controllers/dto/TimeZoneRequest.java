@@ -0,0 +1,3 @@
+package com.example.quizlecikprojekt.controllers.dto;
+
+public record TimeZoneRequest(String timeZone) {}
@@ -1,5 +1,11 @@
 package com.example.quizlecikprojekt.controllers.dto.learn;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 
-public record StartFlashcardRequest(@NotNull(message = "Word set ID is required") Long wordSetId) {}
+public record StartFlashcardRequest(
+    @NotNull(message = "Word set ID is required") Long wordSetId,
+    @Pattern(regexp = "(?i)shuffle|review", message = "Mode must be shuffle or review")
+        String mode,
+    @Positive(message = "Limit must be positive") Integer limit) {}
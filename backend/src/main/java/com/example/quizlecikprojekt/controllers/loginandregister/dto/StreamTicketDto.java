@@ -0,0 +1,4 @@
+package com.example.quizlecikprojekt.controllers.loginandregister.dto;
+
+public record StreamTicketDto(String ticket, long expiresInSeconds) {
+}
@@ -0,0 +1,8 @@
+package com.example.quizlecikprojekt.domain.friendship;
+
+import com.example.quizlecikprojekt.domain.group.GroupMessageDto;
+
+import java.util.List;
+
+public record GroupMessageSentEvent(List<Long> memberIds, GroupMessageDto message) {
+}
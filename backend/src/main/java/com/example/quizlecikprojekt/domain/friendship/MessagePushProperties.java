@@ -0,0 +1,10 @@
+package com.example.quizlecikprojekt.domain.friendship;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(value = "messages.push")
+public record MessagePushProperties(
+        Duration timeout, Duration heartbeatInterval, int maxStreamsPerUser) {
+}
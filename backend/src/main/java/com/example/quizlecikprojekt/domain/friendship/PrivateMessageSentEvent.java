@@ -0,0 +1,6 @@
+package com.example.quizlecikprojekt.domain.friendship;
+
+import com.example.quizlecikprojekt.domain.friendship.dto.PrivateMessageDto;
+
+public record PrivateMessageSentEvent(PrivateMessageDto message) {
+}
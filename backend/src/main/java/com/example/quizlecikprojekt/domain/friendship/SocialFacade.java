@@ -5,6 +5,7 @@ import com.example.quizlecikprojekt.domain.friendship.dto.*;
 import com.example.quizlecikprojekt.domain.friendship.enums.FriendshipStatus;
 import com.example.quizlecikprojekt.domain.friendship.service.FriendshipService;
 import com.example.quizlecikprojekt.domain.friendship.service.MessageService;
+import com.example.quizlecikprojekt.domain.friendship.service.MessageStreams;
 import com.example.quizlecikprojekt.domain.group.*;
 import com.example.quizlecikprojekt.domain.user.UserFacade;
 import com.example.quizlecikprojekt.entity.User;
@@ -15,17 +16,22 @@ import com.example.quizlecikprojekt.entity.PrivateMessage;
 import com.example.quizlecikprojekt.exception.InvalidOperationException;
 import com.example.quizlecikprojekt.exception.ResourceNotFoundException;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class SocialFacade {
 
+    private static final int DEFAULT_MESSAGE_PAGE_SIZE = 50;
+    private static final int MAX_MESSAGE_PAGE_SIZE = 100;
+
     private final FriendshipService friendshipService;
 
     private final MessageService messageService;
@@ -36,6 +42,10 @@ public class SocialFacade {
 
     private final GroupMessageRepository groupMessageRepository;
 
+    private final MessageStreams messageStreams;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     public FriendshipDto sendFriendRequest(String userEmail, Long addresseeId) {
         Long requesterId = userFacade.getUserByEmail(userEmail)
                 .getId();
@@ -67,36 +77,13 @@ public class SocialFacade {
         friendshipService.blockUser(userId, userToBlockId);
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getUserFriendshipInfo(String userName) {
-        Long userId = userFacade.getUserByEmail(userName)
-                .getId();
-
-        Map<String, Object> friendshipInfo = new HashMap<>();
-
-        List<FriendDto> friends = friendshipService.getUserFriends(userId);
-        friendshipInfo.put("friends", friends);
-        friendshipInfo.put("friendsCount", friends.size());
-
-        List<FriendshipDto> pendingRequests = friendshipService.getPendingFriendRequests(userId)
-                .stream()
-                .map(SocialFacade::fromEntity)
-                .collect(Collectors.toList());
-        friendshipInfo.put("pendingRequests", pendingRequests);
-
-        List<FriendshipDto> sentRequests = friendshipService.getSentFriendRequests(userId)
-                .stream()
-                .map(SocialFacade::fromEntity)
-                .collect(Collectors.toList());
-        friendshipInfo.put("sentRequests", sentRequests);
-        friendshipInfo.put("sentRequestsCount", sentRequests.size());
-
-        List<UserDto> suggestedFriends = friendshipService.getSuggestedFriends(userId)
-                        .stream()
-                        .map(this::toDto)
-                        .collect(Collectors.toList());
-        friendshipInfo.put("suggestedFriends", suggestedFriends);
+        return friendshipInfo(loadFriendships(getUserIdFromUsername(userName)));
+    }
 
-        return friendshipInfo;
+    public List<Long> getFriendIds(Long userId) {
+        return friendshipService.getFriendIds(userId);
     }
 
     public Map<String, Object> checkFriendshipStatus(String userName, Long userId2) {
@@ -121,22 +108,9 @@ public class SocialFacade {
         return messageService.sendPrivateMessage(senderId, recipientId, content);
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getUserMessagingInfo(String userEmail) {
-        Map<String, Object> messagingInfo = new HashMap<>();
-
-        Long userId = userFacade.getUserByEmail(userEmail)
-                .getId();
-
-        List<PrivateMessage> conversations = messageService.getUserConversations(userId);
-        messagingInfo.put("conversations", conversations);
-        messagingInfo.put("conversationsCount", conversations.size());
-
-        List<PrivateMessage> unreadMessages = messageService.getUnreadMessages(userId);
-        messagingInfo.put("unreadMessages", unreadMessages);
-        messagingInfo.put("unreadCount", messageService.getUnreadMessageCount(userId));
-
-
-        return messagingInfo;
+        return messagingInfo(loadMessaging(getUserIdFromUsername(userEmail)));
     }
 
     public Map<String, Object> manageConversation(String userEmail, Long otherUserId, String action, Map<String, Object> params) {
@@ -147,11 +121,16 @@ public class SocialFacade {
 
         switch (action.toLowerCase()) {
             case "get_messages":
-                List<PrivateMessage> messages = messageService.getConversation(userId, otherUserId);
-                List<PrivateMessageDto> messageDtos = messages.stream()
-                        .map(SocialFacade::toDto)
-                        .toList();
-                result.put("messages", messageDtos);
+                int limit = pageSize((Integer) params.get("limit"));
+                List<PrivateMessage> messages = messageService.getConversation(
+                        userId, otherUserId, cursor(params.get("before")), limit + 1);
+                MessagePage<PrivateMessageDto> page = MessagePage.of(
+                        messages,
+                        limit,
+                        message -> new MessageCursor(message.getCreatedAt(), message.getId()),
+                        SocialFacade::toDto);
+                result.put("messages", page.messages());
+                result.put("nextCursor", page.nextCursor());
                 break;
 
             case "mark_as_read":
@@ -188,30 +167,103 @@ public class SocialFacade {
                 .getId();
     }
 
+    // Everything the dashboard shows comes from one snapshot: the user is resolved once and each
+    // section is read once, one after another in a single read-only transaction, so a request
+    // holds one pooled connection however many sections it shows. The sections are deliberately
+    // not read concurrently: each thread would need a connection and transaction of its own, so
+    // one dashboard could hold several of the pool's connections and mix sections from different
+    // commits, to save a few milliseconds of short indexed reads.
+    @Transactional(readOnly = true)
     public Map<String, Object> getUserSocialDashboard(String username) {
-        Long userId = getUserIdFromUsername(username);
-        Map<String, Object> dashboard = new HashMap<>();
+        SocialSnapshot snapshot = loadSnapshot(getUserIdFromUsername(username));
+        FriendshipSnapshot friendships = snapshot.friendships();
+        MessagingSnapshot messaging = snapshot.messaging();
 
-        dashboard.put("friendshipInfo", getUserFriendshipInfo(username));
-        dashboard.put("messagingInfo", getUserMessagingInfo(username));
-
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalFriends", friendshipService.getUserFriends(userId).size());
-        stats.put("unreadMessages", messageService.getUnreadMessageCount(userId));
-        stats.put("pendingFriendRequests", friendshipService.getPendingFriendRequests(userId).size());
-
-        dashboard.put("stats", stats);
+        Map<String, Object> dashboard = new HashMap<>();
+        dashboard.put("friendshipInfo", friendshipInfo(friendships));
+        dashboard.put("messagingInfo", messagingInfo(messaging));
+        dashboard.put("stats", stats(friendships, messaging));
 
         Map<String, Object> quickActions = new HashMap<>();
         quickActions.put("canCreateGroup", true);
-        quickActions.put("hasUnreadMessages", messageService.getUnreadMessageCount(userId) > 0);
-        quickActions.put("hasPendingRequests", !friendshipService.getPendingFriendRequests(userId).isEmpty());
+        quickActions.put("hasUnreadMessages", messaging.unreadCount() > 0);
+        quickActions.put("hasPendingRequests", !friendships.pendingRequests().isEmpty());
 
         dashboard.put("quickActions", quickActions);
 
         return dashboard;
     }
 
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSocialStats(String username) {
+        SocialSnapshot snapshot = loadSnapshot(getUserIdFromUsername(username));
+        return stats(snapshot.friendships(), snapshot.messaging());
+    }
+
+    private SocialSnapshot loadSnapshot(Long userId) {
+        return new SocialSnapshot(loadFriendships(userId), loadMessaging(userId));
+    }
+
+    private FriendshipSnapshot loadFriendships(Long userId) {
+        return new FriendshipSnapshot(
+                friendshipService.getUserFriends(userId),
+                fromEntities(friendshipService.getPendingFriendRequests(userId)),
+                fromEntities(friendshipService.getSentFriendRequests(userId)),
+                friendshipService.getSuggestedFriends(userId).stream().map(this::toDto).toList());
+    }
+
+    private MessagingSnapshot loadMessaging(Long userId) {
+        return new MessagingSnapshot(
+                messageService.getUserConversations(userId).stream().map(SocialFacade::toDto).toList(),
+                messageService.getUnreadMessages(userId).stream().map(SocialFacade::toDto).toList(),
+                messageService.getUnreadMessageCount(userId),
+                messageService.getUnreadCountsByPartner(userId));
+    }
+
+    private static Map<String, Object> friendshipInfo(FriendshipSnapshot snapshot) {
+        Map<String, Object> friendshipInfo = new HashMap<>();
+        friendshipInfo.put("friends", snapshot.friends());
+        friendshipInfo.put("friendsCount", snapshot.friends().size());
+        friendshipInfo.put("pendingRequests", snapshot.pendingRequests());
+        friendshipInfo.put("sentRequests", snapshot.sentRequests());
+        friendshipInfo.put("sentRequestsCount", snapshot.sentRequests().size());
+        friendshipInfo.put("suggestedFriends", snapshot.suggestedFriends());
+        return friendshipInfo;
+    }
+
+    private static Map<String, Object> messagingInfo(MessagingSnapshot snapshot) {
+        Map<String, Object> messagingInfo = new HashMap<>();
+        messagingInfo.put("conversations", snapshot.conversations());
+        messagingInfo.put("conversationsCount", snapshot.conversations().size());
+        messagingInfo.put("unreadMessages", snapshot.unreadMessages());
+        messagingInfo.put("unreadCount", snapshot.unreadCount());
+        messagingInfo.put("unreadByPartner", snapshot.unreadByPartner());
+        return messagingInfo;
+    }
+
+    private static Map<String, Object> stats(FriendshipSnapshot friendships, MessagingSnapshot messaging) {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalFriends", friendships.friends().size());
+        stats.put("unreadMessages", messaging.unreadCount());
+        stats.put("pendingFriendRequests", friendships.pendingRequests().size());
+        return stats;
+    }
+
+    private record SocialSnapshot(FriendshipSnapshot friendships, MessagingSnapshot messaging) {
+    }
+
+    private record FriendshipSnapshot(List<FriendDto> friends,
+                                      List<FriendshipDto> pendingRequests,
+                                      List<FriendshipDto> sentRequests,
+                                      List<UserDto> suggestedFriends) {
+    }
+
+    private record MessagingSnapshot(List<PrivateMessageDto> conversations,
+                                     List<PrivateMessageDto> unreadMessages,
+                                     long unreadCount,
+                                     Map<Long, Integer> unreadByPartner) {
+    }
+
 
     @Transactional
     public Map<String, Object> bulkFriendshipOperations(String userEmail, String operation, List<Long> targetUserIds) {
@@ -291,7 +343,7 @@ public class SocialFacade {
         }
         GroupMessage msg = new GroupMessage(group, sender, content);
         GroupMessage save = groupMessageRepository.save(msg);
-        return new GroupMessageDto(
+        GroupMessageDto dto = new GroupMessageDto(
                 save.getId(),
                 groupId,
                 sender.getId(),
@@ -299,24 +351,56 @@ public class SocialFacade {
                 save.getContent(),
                 save.getCreatedAt().toString()
         );
+        List<Long> memberIds = group.getMembers().stream().map(User::getId).toList();
+        eventPublisher.publishEvent(new GroupMessageSentEvent(memberIds, dto));
+        return dto;
+    }
+
+    public SseEmitter openMessageStream(String userEmail) {
+        Long userId = userFacade.getUserByEmail(userEmail).getId();
+        return messageStreams.open(userId);
     }
 
-    public List<GroupMessageDto> getGroupMessages(String userEmail, Long groupId) {
+    public MessagePage<GroupMessageDto> getGroupMessages(String userEmail, Long groupId,
+                                                         String before, Integer limit) {
         User user = userFacade.getUserByEmail(userEmail);
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new RuntimeException("Group not found"));
         if (!group.getMembers().contains(user)) {
             throw new RuntimeException("User is not a member of the group");
         }
-        List<GroupMessage> messages = groupMessageRepository.findByGroup_IdOrderByCreatedAtAsc(groupId);
-        return messages.stream().map(m -> new GroupMessageDto(
-                m.getId(),
-                groupId,
-                m.getSender().getId(),
-                m.getSender().getName(),
-                m.getContent(),
-                m.getCreatedAt().toString()
-        )).toList();
+        int pageSize = pageSize(limit);
+        MessageCursor cursor = cursor(before);
+        Pageable page = PageRequest.of(0, pageSize + 1);
+        List<GroupMessage> messages = cursor == null
+                ? groupMessageRepository.findLatest(groupId, page)
+                : groupMessageRepository.findBefore(groupId, cursor.createdAt(), cursor.id(), page);
+        return MessagePage.of(
+                messages,
+                pageSize,
+                message -> new MessageCursor(message.getCreatedAt(), message.getId()),
+                m -> new GroupMessageDto(
+                        m.getId(),
+                        groupId,
+                        m.getSender().getId(),
+                        m.getSender().getName(),
+                        m.getContent(),
+                        m.getCreatedAt().toString()
+                ));
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_MESSAGE_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_MESSAGE_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_MESSAGE_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    private static MessageCursor cursor(Object before) {
+        return before != null ? MessageCursor.decode(before.toString()) : null;
     }
 
     private static PrivateMessageDto toDto(PrivateMessage msg) {
@@ -329,6 +413,12 @@ public class SocialFacade {
         );
     }
 
+    private static List<FriendshipDto> fromEntities(List<Friendship> friendships) {
+        return friendships.stream()
+                .map(SocialFacade::fromEntity)
+                .toList();
+    }
+
     private static FriendshipDto fromEntity(Friendship f) {
         return new FriendshipDto(
                 f.getId(),
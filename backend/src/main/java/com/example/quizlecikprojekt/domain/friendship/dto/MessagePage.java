@@ -0,0 +1,29 @@
+package com.example.quizlecikprojekt.domain.friendship.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+// Messages oldest first; nextCursor fetches the messages before them and is null at the start of
+// the history
+public record MessagePage<T>(List<T> messages, String nextCursor) {
+
+    // Builds a page from up to limit + 1 messages read newest first; the extra one only tells
+    // whether anything older is left
+    public static <M, T> MessagePage<T> of(List<M> newestFirst, int limit,
+                                           Function<M, MessageCursor> cursorOf,
+                                           Function<M, T> mapper) {
+        List<M> page = newestFirst.subList(0, Math.min(limit, newestFirst.size()));
+        String nextCursor = newestFirst.size() > limit
+                ? cursorOf.apply(page.get(page.size() - 1)).encode()
+                : null;
+
+        List<T> messages = new ArrayList<>(page.size());
+        for (M message : page) {
+            messages.add(mapper.apply(message));
+        }
+        Collections.reverse(messages);
+        return new MessagePage<>(messages, nextCursor);
+    }
+}
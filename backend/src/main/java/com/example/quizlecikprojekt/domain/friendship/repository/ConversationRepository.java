@@ -0,0 +1,82 @@
+package com.example.quizlecikprojekt.domain.friendship.repository;
+
+import com.example.quizlecikprojekt.entity.Conversation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+
+    // Additive, so concurrent sends and reads commute; the last message only ever moves forward
+    @Modifying
+    @Query(value = "UPDATE conversations SET " +
+            "last_message_id = GREATEST(last_message_id, :messageId), " +
+            "last_activity_at = GREATEST(last_activity_at, :sentAt), " +
+            "low_unread = low_unread + :lowUnread, high_unread = high_unread + :highUnread " +
+            "WHERE user_low_id = :lowId AND user_high_id = :highId", nativeQuery = true)
+    int recordMessage(@Param("lowId") Long lowId,
+                      @Param("highId") Long highId,
+                      @Param("messageId") Long messageId,
+                      @Param("sentAt") LocalDateTime sentAt,
+                      @Param("lowUnread") int lowUnread,
+                      @Param("highUnread") int highUnread);
+
+    @Modifying
+    @Query(value = "INSERT INTO conversations " +
+            "(user_low_id, user_high_id, last_message_id, last_activity_at, low_unread, high_unread) " +
+            "VALUES (:lowId, :highId, :messageId, :sentAt, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("lowId") Long lowId,
+                       @Param("highId") Long highId,
+                       @Param("messageId") Long messageId,
+                       @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.lowUnread = c.lowUnread + :lowUnread, " +
+            "c.highUnread = c.highUnread + :highUnread " +
+            "WHERE c.userLow.id = :lowId AND c.userHigh.id = :highId")
+    int addUnread(@Param("lowId") Long lowId,
+                  @Param("highId") Long highId,
+                  @Param("lowUnread") int lowUnread,
+                  @Param("highUnread") int highUnread);
+
+    // The inbox is read from each side's index separately, like a conversation's two directions
+    @Query("SELECT c FROM Conversation c JOIN FETCH c.lastMessage m " +
+            "JOIN FETCH m.sender JOIN FETCH m.recipient " +
+            "WHERE c.userLow.id = :userId ORDER BY c.lastActivityAt DESC")
+    List<Conversation> findByLowUser(@Param("userId") Long userId);
+
+    @Query("SELECT c FROM Conversation c JOIN FETCH c.lastMessage m " +
+            "JOIN FETCH m.sender JOIN FETCH m.recipient " +
+            "WHERE c.userHigh.id = :userId ORDER BY c.lastActivityAt DESC")
+    List<Conversation> findByHighUser(@Param("userId") Long userId);
+
+    // Partner id and the user's unread count for conversations with anything unread
+    @Query("SELECT CASE WHEN c.userLow.id = :userId THEN c.userHigh.id ELSE c.userLow.id END, " +
+            "CASE WHEN c.userLow.id = :userId THEN c.lowUnread ELSE c.highUnread END " +
+            "FROM Conversation c WHERE (c.userLow.id = :userId AND c.lowUnread > 0) " +
+            "OR (c.userHigh.id = :userId AND c.highUnread > 0)")
+    List<Object[]> findUnreadByPartner(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM conversations", nativeQuery = true)
+    int deleteAllRows();
+
+    // Rebuilds every conversation from the message history in one statement
+    @Modifying
+    @Query(value = "INSERT INTO conversations " +
+            "(user_low_id, user_high_id, last_message_id, last_activity_at, low_unread, high_unread) " +
+            "SELECT LEAST(sender_id, recipient_id), GREATEST(sender_id, recipient_id), " +
+            "MAX(id), MAX(created_at), " +
+            "SUM(CASE WHEN is_read = false AND recipient_id <= sender_id THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN is_read = false AND recipient_id > sender_id THEN 1 ELSE 0 END) " +
+            "FROM private_messages " +
+            "GROUP BY LEAST(sender_id, recipient_id), GREATEST(sender_id, recipient_id)",
+            nativeQuery = true)
+    int insertFromMessages();
+}
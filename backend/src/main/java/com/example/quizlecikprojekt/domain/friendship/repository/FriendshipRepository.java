@@ -3,6 +3,7 @@ package com.example.quizlecikprojekt.domain.friendship.repository;
 import com.example.quizlecikprojekt.entity.Friendship;
 import com.example.quizlecikprojekt.domain.friendship.enums.FriendshipStatus;
 import com.example.quizlecikprojekt.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -28,10 +29,12 @@ public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
                                                  @Param("status") FriendshipStatus status);
 
     // Otrzymane zaproszenia do przyjaźni
+    @EntityGraph(attributePaths = {"requester", "addressee"})
     @Query("SELECT f FROM Friendship f WHERE f.addressee.id = :userId AND f.status = 'PENDING'")
     List<Friendship> findPendingFriendRequestsForUser(@Param("userId") Long userId);
 
     // Wysłane zaproszenia do przyjaźni
+    @EntityGraph(attributePaths = {"requester", "addressee"})
     @Query("SELECT f FROM Friendship f WHERE f.requester.id = :userId AND f.status = 'PENDING'")
     List<Friendship> findSentFriendRequestsByUser(@Param("userId") Long userId);
 
@@ -41,6 +44,10 @@ public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
             "FROM Friendship f WHERE (f.requester.id = :userId OR f.addressee.id = :userId) AND f.status = 'ACCEPTED')")
     List<User> findUserFriends(@Param("userId") Long userId);
 
+    @Query("SELECT CASE WHEN f.requester.id = :userId THEN f.addressee.id ELSE f.requester.id END " +
+            "FROM Friendship f WHERE (f.requester.id = :userId OR f.addressee.id = :userId) AND f.status = 'ACCEPTED'")
+    List<Long> findFriendIds(@Param("userId") Long userId);
+
     // Sprawdź czy użytkownicy są przyjaciółmi
     @Query("SELECT COUNT(f) > 0 FROM Friendship f WHERE " +
             "((f.requester.id = :userId1 AND f.addressee.id = :userId2) OR " +
@@ -2,7 +2,6 @@ package com.example.quizlecikprojekt.domain.friendship.repository;
 
 import com.example.quizlecikprojekt.entity.PrivateMessage;
 import com.example.quizlecikprojekt.entity.User;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -16,38 +15,26 @@ import java.util.List;
 @Repository
 public interface PrivateMessageRepository extends JpaRepository<PrivateMessage, Long> {
 
-    // Konwersacja między dwoma użytkownikami
-    @Query("SELECT pm FROM PrivateMessage pm WHERE " +
-            "((pm.sender.id = :userId1 AND pm.recipient.id = :userId2) OR " +
-            "(pm.sender.id = :userId2 AND pm.recipient.id = :userId1)) " +
-            "ORDER BY pm.createdAt ASC")
-    List<PrivateMessage> findConversationBetweenUsers(@Param("userId1") Long userId1,
-                                                      @Param("userId2") Long userId2);
-
-    // Konwersacja z paginacją
-    @Query("SELECT pm FROM PrivateMessage pm WHERE " +
-            "((pm.sender.id = :userId1 AND pm.recipient.id = :userId2) OR " +
-            "(pm.sender.id = :userId2 AND pm.recipient.id = :userId1)) " +
-            "ORDER BY pm.createdAt DESC")
-    Page<PrivateMessage> findConversationBetweenUsersPageable(@Param("userId1") Long userId1,
-                                                              @Param("userId2") Long userId2,
-                                                              Pageable pageable);
-
-    // Lista konwersacji użytkownika (ostatnie wiadomości z każdym)
-    @Query("SELECT pm FROM PrivateMessage pm WHERE pm.id IN (" +
-            "SELECT MAX(pm2.id) FROM PrivateMessage pm2 WHERE " +
-            "(pm2.sender.id = :userId OR pm2.recipient.id = :userId) " +
-            "GROUP BY CASE WHEN pm2.sender.id = :userId THEN pm2.recipient.id ELSE pm2.sender.id END" +
-            ") ORDER BY pm.createdAt DESC")
-    List<PrivateMessage> findUserConversations(@Param("userId") Long userId);
+    // One direction of a conversation, newest first; each direction is a single range of the
+    // (sender_id, recipient_id, created_at, id) index, so a page costs the same at any depth
+    @Query("SELECT pm FROM PrivateMessage pm WHERE pm.sender.id = :senderId AND pm.recipient.id = :recipientId " +
+            "ORDER BY pm.createdAt DESC, pm.id DESC")
+    List<PrivateMessage> findLatestSent(@Param("senderId") Long senderId,
+                                        @Param("recipientId") Long recipientId,
+                                        Pageable pageable);
+
+    @Query("SELECT pm FROM PrivateMessage pm WHERE pm.sender.id = :senderId AND pm.recipient.id = :recipientId " +
+            "AND (pm.createdAt < :createdAt OR (pm.createdAt = :createdAt AND pm.id < :id)) " +
+            "ORDER BY pm.createdAt DESC, pm.id DESC")
+    List<PrivateMessage> findSentBefore(@Param("senderId") Long senderId,
+                                        @Param("recipientId") Long recipientId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
 
     // Nieprzeczytane wiadomości użytkownika
     List<PrivateMessage> findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(Long recipientId);
 
-    // Liczba nieprzeczytanych wiadomości
-    @Query("SELECT COUNT(pm) FROM PrivateMessage pm WHERE pm.recipient.id = :userId AND pm.isRead = false")
-    Long countUnreadMessages(@Param("userId") Long userId);
-
     // Oznacz wiadomości jako przeczytane
     @Modifying
     @Query("UPDATE PrivateMessage pm SET pm.isRead = true WHERE " +
@@ -0,0 +1,29 @@
+package com.example.quizlecikprojekt.domain.friendship.service;
+
+import com.example.quizlecikprojekt.domain.friendship.repository.ConversationRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// One-off rebuild of conversations, with their unread counts, from the private messages. Enable
+// for a single start with messages.conversations.backfill=true.
+@Log4j2
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "messages.conversations.backfill", havingValue = "true")
+class ConversationBackfillJob implements ApplicationRunner {
+
+    private final ConversationRepository conversationRepository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        conversationRepository.deleteAllRows();
+        int rows = conversationRepository.insertFromMessages();
+        log.info("Conversation backfill finished, {} conversations written", rows);
+    }
+}
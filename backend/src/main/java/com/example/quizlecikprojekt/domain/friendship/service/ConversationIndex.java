@@ -0,0 +1,71 @@
+package com.example.quizlecikprojekt.domain.friendship.service;
+
+import com.example.quizlecikprojekt.domain.friendship.repository.ConversationRepository;
+import com.example.quizlecikprojekt.entity.Conversation;
+import com.example.quizlecikprojekt.entity.PrivateMessage;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Maintains the conversations read model; every method runs inside the caller's message
+// transaction so the inbox and unread counts move together with the messages
+@Component
+class ConversationIndex {
+
+    private final ConversationRepository conversationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    ConversationIndex(ConversationRepository conversationRepository,
+                      ApplicationEventPublisher eventPublisher) {
+        this.conversationRepository = conversationRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    void messageSent(PrivateMessage message) {
+        Long senderId = message.getSender().getId();
+        Long recipientId = message.getRecipient().getId();
+        Long lowId = Math.min(senderId, recipientId);
+        Long highId = Math.max(senderId, recipientId);
+        int lowUnread = recipientId.equals(lowId) ? 1 : 0;
+
+        // The first message between two users creates the row, later ones only update it
+        if (record(message, lowId, highId, lowUnread) == 0) {
+            conversationRepository.insertIfAbsent(lowId, highId, message.getId(), message.getCreatedAt());
+            record(message, lowId, highId, lowUnread);
+        }
+        eventPublisher.publishEvent(new UnreadCounters.UnreadChanged(recipientId, senderId, 1));
+    }
+
+    // Takes off exactly the messages that were marked, so a message sent meanwhile stays counted
+    void messagesRead(Long userId, Long partnerId, int count) {
+        if (count > 0) {
+            boolean low = userId <= partnerId;
+            conversationRepository.addUnread(Math.min(userId, partnerId), Math.max(userId, partnerId),
+                    low ? -count : 0, low ? 0 : -count);
+            eventPublisher.publishEvent(new UnreadCounters.UnreadChanged(userId, partnerId, -count));
+        }
+    }
+
+    // Latest message of every conversation, most recent first
+    List<PrivateMessage> inbox(Long userId) {
+        List<Conversation> conversations = new ArrayList<>(conversationRepository.findByLowUser(userId));
+        for (Conversation conversation : conversationRepository.findByHighUser(userId)) {
+            // A conversation with oneself is on both sides
+            if (!conversation.getUserLow().getId().equals(userId)) {
+                conversations.add(conversation);
+            }
+        }
+        conversations.sort(Comparator.comparing(Conversation::getLastActivityAt).reversed());
+        return conversations.stream()
+                .map(Conversation::getLastMessage)
+                .toList();
+    }
+
+    private int record(PrivateMessage message, Long lowId, Long highId, int lowUnread) {
+        return conversationRepository.recordMessage(
+                lowId, highId, message.getId(), message.getCreatedAt(), lowUnread, 1 - lowUnread);
+    }
+}
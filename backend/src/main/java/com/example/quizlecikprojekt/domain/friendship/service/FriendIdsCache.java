@@ -0,0 +1,64 @@
+package com.example.quizlecikprojekt.domain.friendship.service;
+
+import com.example.quizlecikprojekt.config.cache.ResettableCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Accepted friend ids per user; friendships change far less often than they are read
+@Component
+class FriendIdsCache implements ResettableCache {
+
+    private static final int MAX_CACHED_USERS = 10000;
+
+    private final Map<Long, List<Long>> friendIds = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<Long>> eldest) {
+            return size() > MAX_CACHED_USERS;
+        }
+    };
+
+    // Bumped on every invalidation so a lookup that raced with a friendship change is never cached
+    private long generation;
+
+    List<Long> get(Long userId, Supplier<List<Long>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            List<Long> cached = friendIds.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+
+        List<Long> loaded = List.copyOf(loader.get());
+
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                friendIds.put(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    // After commit, so a reader can never reload and cache the friendship as it was before the change
+    @TransactionalEventListener(fallbackExecution = true)
+    synchronized void onFriendshipChanged(FriendshipChanged event) {
+        friendIds.remove(event.userId1());
+        friendIds.remove(event.userId2());
+        generation++;
+    }
+
+    @Override
+    public synchronized void reset() {
+        friendIds.clear();
+        generation++;
+    }
+
+    record FriendshipChanged(Long userId1, Long userId2) {
+    }
+}
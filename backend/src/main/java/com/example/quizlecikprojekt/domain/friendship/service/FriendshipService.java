@@ -10,6 +10,7 @@ import com.example.quizlecikprojekt.entity.User;
 import com.example.quizlecikprojekt.exception.InvalidOperationException;
 import com.example.quizlecikprojekt.exception.ResourceNotFoundException;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -24,6 +25,10 @@ public class FriendshipService {
 
     private final UserFacade userFacade;
 
+    private final FriendIdsCache friendIdsCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     public FriendshipDto sendFriendRequest(Long requesterId, Long addresseeId) {
         if (requesterId.equals(addresseeId)) {
             throw new InvalidOperationException("You can't invite yourself into friendship");
@@ -64,7 +69,9 @@ public class FriendshipService {
         }
 
         friendship.setStatus(FriendshipStatus.ACCEPTED);
-        return friendshipRepository.save(friendship);
+        Friendship saved = friendshipRepository.save(friendship);
+        eventPublisher.publishEvent(new FriendIdsCache.FriendshipChanged(friendship.getRequester().getId(), userId));
+        return saved;
     }
 
     public void declineFriendRequest(Long userId, Long friendshipId) {
@@ -89,6 +96,7 @@ public class FriendshipService {
         }
 
         friendshipRepository.delete(friendship);
+        eventPublisher.publishEvent(new FriendIdsCache.FriendshipChanged(userId, friendId));
     }
 
     public void blockUser(Long userId, Long userToBlockId) {
@@ -111,6 +119,7 @@ public class FriendshipService {
             blockFriendship.setStatus(FriendshipStatus.BLOCKED);
             friendshipRepository.save(blockFriendship);
         }
+        eventPublisher.publishEvent(new FriendIdsCache.FriendshipChanged(userId, userToBlockId));
     }
 
     public List<FriendDto> getUserFriends(Long userId) {
@@ -129,6 +138,10 @@ public class FriendshipService {
         return friendshipRepository.findSentFriendRequestsByUser(userId);
     }
 
+    public List<Long> getFriendIds(Long userId) {
+        return friendIdsCache.get(userId, () -> friendshipRepository.findFriendIds(userId));
+    }
+
     public boolean areUsersFriends(Long userId1, Long userId2) {
         return friendshipRepository.areUsersFriends(userId1, userId2);
     }
@@ -1,5 +1,8 @@
 package com.example.quizlecikprojekt.domain.friendship.service;
 
+import com.example.quizlecikprojekt.domain.friendship.PrivateMessageSentEvent;
+import com.example.quizlecikprojekt.domain.friendship.dto.MessageCursor;
+import com.example.quizlecikprojekt.domain.friendship.dto.PrivateMessageDto;
 import com.example.quizlecikprojekt.domain.user.UserFacade;
 import com.example.quizlecikprojekt.entity.PrivateMessage;
 import com.example.quizlecikprojekt.domain.friendship.repository.*;
@@ -7,9 +10,16 @@ import com.example.quizlecikprojekt.entity.User;
 import com.example.quizlecikprojekt.exception.InvalidOperationException;
 import com.example.quizlecikprojekt.exception.ResourceNotFoundException;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @AllArgsConstructor
@@ -21,6 +31,13 @@ public class MessageService {
 
     private final FriendshipRepository friendshipRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConversationIndex conversationIndex;
+
+    private final UnreadCounters unreadCounters;
+
+    @Transactional
     public PrivateMessage sendPrivateMessage(Long senderId, Long recipientId, String content) {
         User sender = userFacade.getUserById(senderId);
         User recipient = userFacade.getUserById(recipientId);
@@ -29,30 +46,62 @@ public class MessageService {
             throw new InvalidOperationException("Możesz wysyłać wiadomości tylko do przyjaciół");
         }
 
-        PrivateMessage message = new PrivateMessage(sender, recipient, content);
-        return privateMessageRepository.save(message);
+        PrivateMessage message =
+                privateMessageRepository.save(new PrivateMessage(sender, recipient, content));
+        conversationIndex.messageSent(message);
+        eventPublisher.publishEvent(new PrivateMessageSentEvent(new PrivateMessageDto(
+                message.getId(),
+                senderId,
+                recipientId,
+                message.getContent(),
+                message.getCreatedAt().toString()
+        )));
+        return message;
     }
 
-    public List<PrivateMessage> getConversation(Long userId1, Long userId2) {
-        return privateMessageRepository.findConversationBetweenUsers(userId1, userId2);
+    // Newest messages before the cursor, or the newest overall without one. The two directions are
+    // read separately so that each is an index range rather than an OR the database has to sort.
+    public List<PrivateMessage> getConversation(Long userId1, Long userId2,
+                                                MessageCursor before, int limit) {
+        Pageable page = PageRequest.of(0, limit);
+        List<PrivateMessage> messages = new ArrayList<>(sentBefore(userId1, userId2, before, page));
+        if (!userId1.equals(userId2)) {
+            messages.addAll(sentBefore(userId2, userId1, before, page));
+        }
+        messages.sort(Comparator.comparing(PrivateMessage::getCreatedAt)
+                .thenComparing(PrivateMessage::getId)
+                .reversed());
+        return messages.size() > limit ? messages.subList(0, limit) : messages;
+    }
+
+    private List<PrivateMessage> sentBefore(Long senderId, Long recipientId,
+                                            MessageCursor before, Pageable page) {
+        return before == null
+                ? privateMessageRepository.findLatestSent(senderId, recipientId, page)
+                : privateMessageRepository.findSentBefore(
+                        senderId, recipientId, before.createdAt(), before.id(), page);
     }
 
     public List<PrivateMessage> getUserConversations(Long userId) {
-        return privateMessageRepository.findUserConversations(userId);
+        return conversationIndex.inbox(userId);
     }
 
+    @Transactional
     public int markMessagesAsRead(Long recipientId, Long senderId) {
-        return privateMessageRepository.markMessagesAsRead(recipientId, senderId);
+        int marked = privateMessageRepository.markMessagesAsRead(recipientId, senderId);
+        conversationIndex.messagesRead(recipientId, senderId, marked);
+        return marked;
     }
 
     public List<PrivateMessage> getUnreadMessages(Long userId) {
         return privateMessageRepository.findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(userId);
     }
 
-
     public Long getUnreadMessageCount(Long userId) {
-        return privateMessageRepository.countUnreadMessages(userId);
+        return unreadCounters.total(userId);
     }
 
-
+    public Map<Long, Integer> getUnreadCountsByPartner(Long userId) {
+        return unreadCounters.byPartner(userId);
+    }
 }
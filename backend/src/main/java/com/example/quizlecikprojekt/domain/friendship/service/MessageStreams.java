@@ -0,0 +1,157 @@
+package com.example.quizlecikprojekt.domain.friendship.service;
+
+import com.example.quizlecikprojekt.domain.friendship.GroupMessageSentEvent;
+import com.example.quizlecikprojekt.domain.friendship.MessagePushProperties;
+import com.example.quizlecikprojekt.domain.friendship.PrivateMessageSentEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+// Open server-sent event streams per user. New private and group messages are pushed to every
+// stream of every recipient once the sending transaction commits, so connected clients don't
+// need to poll for them. Pushes run on their own thread so a slow client never holds up the
+// request that sent the message.
+@Log4j2
+@Component
+public class MessageStreams {
+
+    private final MessagePushProperties properties;
+    private final Map<Long, Deque<SseEmitter>> streams = new ConcurrentHashMap<>();
+    private final Counter pushed;
+    private final Counter dropped;
+
+    // One thread keeps every stream's events in the order their transactions committed
+    private final ExecutorService pusher =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("message-push").daemon().factory());
+
+    MessageStreams(MessagePushProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pushed = Counter.builder("messages.push.sent").register(meterRegistry);
+        this.dropped = Counter.builder("messages.push.dropped").register(meterRegistry);
+        Gauge.builder("messages.push.streams", this, MessageStreams::size).register(meterRegistry);
+    }
+
+    public SseEmitter open(Long userId) {
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        List<SseEmitter> evicted = new ArrayList<>();
+        streams.compute(userId, (id, userStreams) -> {
+            Deque<SseEmitter> open = userStreams != null ? userStreams : new ConcurrentLinkedDeque<>();
+            open.addLast(emitter);
+            // A user reconnecting from many tabs keeps only the newest streams
+            while (open.size() > properties.maxStreamsPerUser()) {
+                evicted.add(open.pollFirst());
+            }
+            return open;
+        });
+        evicted.forEach(SseEmitter::complete);
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        // Sent right away so the client knows the stream is live before any message arrives
+        send(userId, emitter, SseEmitter.event().name("connected").data(userId));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onPrivateMessageSent(PrivateMessageSentEvent event) {
+        submit(() -> {
+            // The sender's other sessions see the message too
+            push(event.message().recipientId(), "private-message", event.message());
+            push(event.message().senderId(), "private-message", event.message());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onGroupMessageSent(GroupMessageSentEvent event) {
+        submit(() -> {
+            for (Long memberId : event.memberIds()) {
+                push(memberId, "group-message", event.message());
+            }
+        });
+    }
+
+    // Keeps idle connections open through proxies and finds streams whose client has gone away
+    @Scheduled(
+            fixedDelayString = "${messages.push.heartbeat-interval}",
+            initialDelayString = "${messages.push.heartbeat-interval}")
+    void heartbeat() {
+        streams.forEach((userId, userStreams) -> {
+            for (SseEmitter emitter : userStreams) {
+                send(userId, emitter, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pusher.shutdown();
+    }
+
+    int size() {
+        return streams.values().stream().mapToInt(Collection::size).sum();
+    }
+
+    private void submit(Runnable task) {
+        try {
+            pusher.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; clients reconnect and reload their conversations
+            log.debug("Skipping message push during shutdown");
+        }
+    }
+
+    private void push(Long userId, String eventName, Object payload) {
+        Deque<SseEmitter> userStreams = streams.get(userId);
+        if (userStreams == null) {
+            return;
+        }
+        for (SseEmitter emitter : userStreams) {
+            if (send(userId, emitter,
+                    SseEmitter.event().name(eventName).data(payload, MediaType.APPLICATION_JSON))) {
+                pushed.increment();
+            }
+        }
+    }
+
+    private boolean send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping message stream of user {}: {}", userId, e.getMessage());
+            dropped.increment();
+            remove(userId, emitter);
+            return false;
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        streams.computeIfPresent(
+                userId,
+                (id, userStreams) -> {
+                    userStreams.remove(emitter);
+                    return userStreams.isEmpty() ? null : userStreams;
+                });
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.quizlecikprojekt.domain.friendship.service;
+
+import com.example.quizlecikprojekt.config.cache.ResettableCache;
+import com.example.quizlecikprojekt.domain.friendship.repository.ConversationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Unread private message counts per user and per (user, partner). The counts live on the
+// conversation rows, which ConversationIndex changes in the same transaction as the messages; a
+// per-user copy is kept in memory and has the same deltas applied once they commit, so unread
+// badges are a map lookup.
+@Component
+class UnreadCounters implements ResettableCache {
+
+    private static final int MAX_CACHED_USERS = 10000;
+
+    private final ConversationRepository conversationRepository;
+    private final Counter hits;
+    private final Counter misses;
+
+    private final Map<Long, Unread> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Unread> eldest) {
+            return size() > MAX_CACHED_USERS;
+        }
+    };
+
+    // Bumped on every committed change so a load that raced with one is never cached
+    private long generation;
+
+    UnreadCounters(ConversationRepository conversationRepository, MeterRegistry meterRegistry) {
+        this.conversationRepository = conversationRepository;
+        this.hits = Counter.builder("messages.unread.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("messages.unread.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    long total(Long userId) {
+        return get(userId).total;
+    }
+
+    Map<Long, Integer> byPartner(Long userId) {
+        return Map.copyOf(get(userId).byPartner);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    synchronized void onUnreadChanged(UnreadChanged event) {
+        generation++;
+        Unread unread = cache.get(event.userId());
+        if (unread != null) {
+            unread.add(event.partnerId(), event.delta());
+        }
+    }
+
+    @Override
+    public synchronized void reset() {
+        cache.clear();
+        generation++;
+    }
+
+    private Unread get(Long userId) {
+        long loadGeneration;
+        synchronized (this) {
+            Unread cached = cache.get(userId);
+            if (cached != null) {
+                hits.increment();
+                return cached.copy();
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+
+        Unread loaded = new Unread();
+        List<Object[]> rows = conversationRepository.findUnreadByPartner(userId);
+        for (Object[] row : rows) {
+            loaded.add((Long) row[0], ((Number) row[1]).intValue());
+        }
+
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                cache.put(userId, loaded.copy());
+            }
+        }
+        return loaded;
+    }
+
+    record UnreadChanged(Long userId, Long partnerId, int delta) {
+    }
+
+    private static final class Unread {
+        private final Map<Long, Integer> byPartner = new HashMap<>();
+        private long total;
+
+        private void add(Long partnerId, int delta) {
+            int updated = byPartner.getOrDefault(partnerId, 0) + delta;
+            if (updated > 0) {
+                byPartner.put(partnerId, updated);
+            } else {
+                byPartner.remove(partnerId);
+            }
+            total += delta;
+        }
+
+        private Unread copy() {
+            Unread copy = new Unread();
+            copy.byPartner.putAll(byPartner);
+            copy.total = total;
+            return copy;
+        }
+    }
+}
@@ -1,9 +1,26 @@
 package com.example.quizlecikprojekt.domain.group;
 
 import com.example.quizlecikprojekt.entity.GroupMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface GroupMessageRepository extends JpaRepository<GroupMessage, Long> {
-    List<GroupMessage> findByGroup_IdOrderByCreatedAtAsc(Long groupId);
-}
\ No newline at end of file
+
+    // Newest first along the (group_id, created_at, id) index
+    @Query("SELECT gm FROM GroupMessage gm JOIN FETCH gm.sender WHERE gm.group.id = :groupId " +
+            "ORDER BY gm.createdAt DESC, gm.id DESC")
+    List<GroupMessage> findLatest(@Param("groupId") Long groupId, Pageable pageable);
+
+    @Query("SELECT gm FROM GroupMessage gm JOIN FETCH gm.sender WHERE gm.group.id = :groupId " +
+            "AND (gm.createdAt < :createdAt OR (gm.createdAt = :createdAt AND gm.id < :id)) " +
+            "ORDER BY gm.createdAt DESC, gm.id DESC")
+    List<GroupMessage> findBefore(@Param("groupId") Long groupId,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id,
+                                  Pageable pageable);
+}
@@ -0,0 +1,15 @@
+package com.example.quizlecikprojekt.domain.leaderboard;
+
+import java.time.LocalDate;
+
+// Result of LeaderboardRepository.findWeeklyStandings; rollup and streak fields are null when the
+// user has none
+record FriendStanding(
+    Long userId,
+    String userName,
+    Integer wordsStudied,
+    Integer correctAnswers,
+    Integer incorrectAnswers,
+    Integer currentStreak,
+    LocalDate lastStudyDate,
+    String timeZone) {}
@@ -0,0 +1,87 @@
+package com.example.quizlecikprojekt.domain.leaderboard;
+
+import com.example.quizlecikprojekt.domain.friendship.SocialFacade;
+import com.example.quizlecikprojekt.domain.leaderboard.RankedSet.Ranked;
+import com.example.quizlecikprojekt.entity.User;
+import com.example.quizlecikprojekt.entity.ProgressRollup.Period;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// This week's standings among a user and their accepted friends. Friend ids are cached by the
+// friendship module and every friend's weekly totals come from one query, whatever the number of
+// friends.
+@Component
+@AllArgsConstructor
+class FriendsLeaderboard {
+
+  private final LeaderboardRepository leaderboardRepository;
+  private final SocialFacade socialFacade;
+  private final LeaderboardProperties properties;
+  private final Clock clock;
+
+  // Ranked the same way as the global boards: score descending, then user id, zero scores left out
+  @Transactional(readOnly = true)
+  public Standings weekly(User user, LeaderboardMetric metric) {
+    List<Long> userIds = new ArrayList<>(socialFacade.getFriendIds(user.getId()));
+    userIds.add(user.getId());
+
+    // The week is the viewer's; each friend's rollup row for it is keyed by their own calendar
+    LocalDate weekStart =
+        LeaderboardEngine.weekStart(
+            LeaderboardEngine.today(clock, user.getTimeZone()));
+    List<FriendStanding> standings =
+        leaderboardRepository.findWeeklyStandings(userIds, Period.WEEK, weekStart);
+
+    List<Ranked> scored =
+        standings.stream()
+            .map(standing -> new Ranked(0, standing.userId(), score(standing, metric)))
+            .filter(entry -> entry.score() > 0)
+            .sorted(
+                Comparator.comparingLong(Ranked::score)
+                    .reversed()
+                    .thenComparingLong(Ranked::userId))
+            .toList();
+    List<Ranked> ranked = new ArrayList<>(scored.size());
+    for (Ranked entry : scored) {
+      ranked.add(new Ranked(ranked.size() + 1, entry.userId(), entry.score()));
+    }
+
+    Map<Long, String> userNames =
+        standings.stream()
+            .collect(Collectors.toMap(FriendStanding::userId, FriendStanding::userName));
+    Optional<Ranked> currentUser =
+        ranked.stream().filter(entry -> entry.userId() == user.getId()).findFirst();
+    return new Standings(ranked, currentUser, userNames);
+  }
+
+  private long score(FriendStanding standing, LeaderboardMetric metric) {
+    return switch (metric) {
+      case WORDS -> valueOrZero(standing.wordsStudied());
+      case ACCURACY ->
+          LeaderboardEngine.accuracyScore(
+              valueOrZero(standing.correctAnswers()),
+              valueOrZero(standing.incorrectAnswers()),
+              properties.accuracyMinAnswers());
+      case STREAK ->
+          LeaderboardEngine.liveStreak(
+              standing.currentStreak(),
+              standing.lastStudyDate(),
+              LeaderboardEngine.today(clock, standing.timeZone()));
+    };
+  }
+
+  private static long valueOrZero(Integer value) {
+    return value != null ? value : 0;
+  }
+
+  record Standings(List<Ranked> entries, Optional<Ranked> currentUser, Map<Long, String> names) {}
+}
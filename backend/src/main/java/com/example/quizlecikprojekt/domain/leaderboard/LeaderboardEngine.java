@@ -0,0 +1,326 @@
+package com.example.quizlecikprojekt.domain.leaderboard;
+
+import com.example.quizlecikprojekt.config.cache.ResettableCache;
+import com.example.quizlecikprojekt.domain.leaderboard.RankedSet.Ranked;
+import com.example.quizlecikprojekt.domain.progress.ProgressRecordedEvent;
+import com.example.quizlecikprojekt.domain.user.UserFacade;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Global standings kept in memory and updated as progress is recorded, so that top-N and rank
+// queries never sort the progress table. A nightly rebuild from the database corrects any drift
+// (streaks that lapsed without a new session, missed events, deleted users).
+@Log4j2
+@Component
+class LeaderboardEngine implements ResettableCache {
+
+  private final LeaderboardRepository leaderboardRepository;
+  private final UserFacade userFacade;
+  private final LeaderboardProperties properties;
+  private final Clock clock;
+  private final Timer rebuildTimer;
+
+  private final Map<Long, String> userNames = new ConcurrentHashMap<>();
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private Standings standings;
+  // Non-null while a rebuild reads its snapshot; replayed onto the rebuilt standings
+  private List<ProgressRecordedEvent> recordedDuringRebuild;
+
+  LeaderboardEngine(
+      LeaderboardRepository leaderboardRepository,
+      UserFacade userFacade,
+      LeaderboardProperties properties,
+      Clock clock,
+      MeterRegistry meterRegistry) {
+    this.leaderboardRepository = leaderboardRepository;
+    this.userFacade = userFacade;
+    this.properties = properties;
+    this.clock = clock;
+    this.standings = new Standings(weekStart(LocalDate.now(clock)), properties);
+
+    this.rebuildTimer = Timer.builder("leaderboard.rebuild").register(meterRegistry);
+    Gauge.builder("leaderboard.users", this, LeaderboardEngine::size).register(meterRegistry);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onProgressRecorded(ProgressRecordedEvent event) {
+    userNames.computeIfAbsent(event.userId(), id -> userFacade.getUserById(id).getName());
+
+    LocalDate currentWeek = weekStart(LocalDate.now(clock));
+    lock.writeLock().lock();
+    try {
+      standings.apply(event, currentWeek);
+      if (recordedDuringRebuild != null) {
+        recordedDuringRebuild.add(event);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${leaderboard.rebuild-cron}", zone = "UTC")
+  void rebuild() {
+    rebuildTimer.record(this::rebuildStandings);
+  }
+
+  // Names are only ever added, so they are dropped first; the rebuild reads back the ones still
+  // ranked
+  @Override
+  public void reset() {
+    userNames.clear();
+    rebuild();
+  }
+
+  List<Ranked> top(LeaderboardMetric metric, LeaderboardPeriod period, int limit) {
+    lock.readLock().lock();
+    try {
+      return standings.board(metric, period).top(limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  Optional<Ranked> rank(LeaderboardMetric metric, LeaderboardPeriod period, Long userId) {
+    lock.readLock().lock();
+    try {
+      return standings.board(metric, period).rank(userId);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  String userName(long userId) {
+    return userNames.get(userId);
+  }
+
+  int size() {
+    lock.readLock().lock();
+    try {
+      return standings.users.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void rebuildStandings() {
+    lock.writeLock().lock();
+    try {
+      recordedDuringRebuild = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    Standings rebuilt;
+    try {
+      rebuilt = new Standings(weekStart(LocalDate.now(clock)), properties);
+
+      for (UserTotals totals : leaderboardRepository.findTotals(rebuilt.weekStart)) {
+        userNames.put(totals.userId(), totals.userName());
+        rebuilt.scores(totals.userId()).setTotals(totals);
+      }
+      for (StreakSnapshot streak : leaderboardRepository.findStreaks()) {
+        rebuilt.scores(streak.userId()).setStreaks(streak, today(clock, streak.timeZone()));
+      }
+      rebuilt.reindexAll();
+    } catch (RuntimeException e) {
+      lock.writeLock().lock();
+      try {
+        recordedDuringRebuild = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw e;
+    }
+
+    lock.writeLock().lock();
+    try {
+      // A session that committed just before the totals query but reached the listener after
+      // the rebuild started is counted twice until the next rebuild; the window is the gap
+      // between commit and listener, not the length of the query
+      for (ProgressRecordedEvent event : recordedDuringRebuild) {
+        rebuilt.apply(event, rebuilt.weekStart);
+      }
+      recordedDuringRebuild = null;
+      standings = rebuilt;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info("Leaderboard rebuilt for {} users", rebuilt.users.size());
+  }
+
+  // Today in the user's own zone, which is the calendar their streaks are counted in
+  static LocalDate today(Clock clock, String timeZone) {
+    return LocalDate.now(clock.withZone(timeZone != null ? ZoneId.of(timeZone) : ZoneOffset.UTC));
+  }
+
+  static LocalDate weekStart(LocalDate date) {
+    return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+  }
+
+  // In basis points; users with too few answers are left off the board instead of topping it
+  static long accuracyScore(long correct, long incorrect, int minAnswers) {
+    long answers = correct + incorrect;
+    if (answers == 0 || answers < minAnswers) {
+      return 0;
+    }
+    return Math.round(correct * 10_000.0 / answers);
+  }
+
+  static int liveStreak(Integer currentStreak, LocalDate lastStudyDate, LocalDate today) {
+    boolean alive = lastStudyDate != null && !lastStudyDate.isBefore(today.minusDays(1));
+    return alive && currentStreak != null ? currentStreak : 0;
+  }
+
+  private static final class Standings {
+
+    private final LeaderboardProperties properties;
+    private final Map<Long, UserScores> users = new HashMap<>();
+    private final Map<LeaderboardPeriod, Map<LeaderboardMetric, RankedSet>> boards =
+        new EnumMap<>(LeaderboardPeriod.class);
+    private LocalDate weekStart;
+
+    private Standings(LocalDate weekStart, LeaderboardProperties properties) {
+      this.weekStart = weekStart;
+      this.properties = properties;
+      for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+        Map<LeaderboardMetric, RankedSet> metrics = new EnumMap<>(LeaderboardMetric.class);
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+          metrics.put(metric, new RankedSet());
+        }
+        boards.put(period, metrics);
+      }
+    }
+
+    private RankedSet board(LeaderboardMetric metric, LeaderboardPeriod period) {
+      return boards.get(period).get(metric);
+    }
+
+    private UserScores scores(Long userId) {
+      return users.computeIfAbsent(userId, id -> new UserScores());
+    }
+
+    // Study dates are in the user's zone while the board's week follows the clock, so a session
+    // already in next week for a user ahead of UTC still counts towards the current one, the same
+    // way the rebuild query counts it
+    private void apply(ProgressRecordedEvent event, LocalDate currentWeek) {
+      if (currentWeek.isAfter(weekStart)) {
+        startWeek(currentWeek);
+      }
+      LocalDate eventWeek = weekStart(event.studyDate());
+
+      UserScores scores = scores(event.userId());
+      scores.words += event.wordsStudied();
+      scores.correct += event.correctAnswers();
+      scores.incorrect += event.incorrectAnswers();
+      if (!eventWeek.isBefore(weekStart)) {
+        scores.weekWords += event.wordsStudied();
+        scores.weekCorrect += event.correctAnswers();
+        scores.weekIncorrect += event.incorrectAnswers();
+      }
+      if (scores.streakDate == null || !event.studyDate().isBefore(scores.streakDate)) {
+        scores.currentStreak = event.currentStreak();
+        scores.streakDate = event.studyDate();
+      }
+      scores.longestStreak = Math.max(scores.longestStreak, event.currentStreak());
+      reindex(event.userId(), scores);
+    }
+
+    // The first session after the week turns empties the weekly boards before the rebuild runs
+    private void startWeek(LocalDate newWeekStart) {
+      weekStart = newWeekStart;
+      for (UserScores scores : users.values()) {
+        scores.weekWords = 0;
+        scores.weekCorrect = 0;
+        scores.weekIncorrect = 0;
+      }
+      Map<LeaderboardMetric, RankedSet> weekly = boards.get(LeaderboardPeriod.WEEK);
+      weekly.put(LeaderboardMetric.WORDS, new RankedSet());
+      weekly.put(LeaderboardMetric.ACCURACY, new RankedSet());
+    }
+
+    private void reindexAll() {
+      users.forEach(this::reindex);
+    }
+
+    private void reindex(Long userId, UserScores scores) {
+      rank(LeaderboardMetric.WORDS, LeaderboardPeriod.ALL_TIME, userId, scores.words);
+      rank(LeaderboardMetric.WORDS, LeaderboardPeriod.WEEK, userId, scores.weekWords);
+      rank(
+          LeaderboardMetric.ACCURACY,
+          LeaderboardPeriod.ALL_TIME,
+          userId,
+          accuracy(scores.correct, scores.incorrect));
+      rank(
+          LeaderboardMetric.ACCURACY,
+          LeaderboardPeriod.WEEK,
+          userId,
+          accuracy(scores.weekCorrect, scores.weekIncorrect));
+      // "Streak this week" is the running streak; all-time is the longest one ever reached
+      rank(LeaderboardMetric.STREAK, LeaderboardPeriod.WEEK, userId, scores.currentStreak);
+      rank(LeaderboardMetric.STREAK, LeaderboardPeriod.ALL_TIME, userId, scores.longestStreak);
+    }
+
+    private void rank(
+        LeaderboardMetric metric, LeaderboardPeriod period, Long userId, long score) {
+      if (score > 0) {
+        board(metric, period).put(userId, score);
+      } else {
+        board(metric, period).remove(userId);
+      }
+    }
+
+    private long accuracy(long correct, long incorrect) {
+      return accuracyScore(correct, incorrect, properties.accuracyMinAnswers());
+    }
+  }
+
+  private static final class UserScores {
+    private long words;
+    private long correct;
+    private long incorrect;
+    private long weekWords;
+    private long weekCorrect;
+    private long weekIncorrect;
+    private int currentStreak;
+    private int longestStreak;
+    private LocalDate streakDate;
+
+    private void setTotals(UserTotals totals) {
+      words = totals.wordsStudied();
+      correct = totals.correctAnswers();
+      incorrect = totals.incorrectAnswers();
+      weekWords = totals.weekWordsStudied();
+      weekCorrect = totals.weekCorrectAnswers();
+      weekIncorrect = totals.weekIncorrectAnswers();
+    }
+
+    // Streaks that lapsed since the last session drop off here rather than waiting for one
+    private void setStreaks(StreakSnapshot streak, LocalDate today) {
+      currentStreak = liveStreak(streak.currentStreak(), streak.lastStudyDate(), today);
+      longestStreak = streak.longestStreak();
+      streakDate = streak.lastStudyDate();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.example.quizlecikprojekt.domain.leaderboard;
+
+import com.example.quizlecikprojekt.domain.leaderboard.RankedSet.Ranked;
+import com.example.quizlecikprojekt.domain.leaderboard.dto.LeaderboardEntryResponse;
+import com.example.quizlecikprojekt.domain.leaderboard.dto.LeaderboardResponse;
+import com.example.quizlecikprojekt.domain.user.UserFacade;
+import com.example.quizlecikprojekt.entity.User;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class LeaderboardFacade {
+
+  private final LeaderboardEngine leaderboardEngine;
+  private final FriendsLeaderboard friendsLeaderboard;
+  private final UserFacade userFacade;
+  private final LeaderboardProperties properties;
+
+  public LeaderboardResponse getLeaderboard(
+      String userEmail, String metric, String period, int limit) {
+    User user = userFacade.getUserByEmail(userEmail);
+    LeaderboardMetric leaderboardMetric = LeaderboardMetric.parse(metric);
+    LeaderboardPeriod leaderboardPeriod = LeaderboardPeriod.parse(period);
+    int boundedLimit = Math.max(1, Math.min(limit, properties.maxLimit()));
+
+    List<LeaderboardEntryResponse> entries =
+        leaderboardEngine.top(leaderboardMetric, leaderboardPeriod, boundedLimit).stream()
+            .map(ranked -> toResponse(leaderboardMetric, ranked))
+            .toList();
+    LeaderboardEntryResponse currentUser =
+        leaderboardEngine
+            .rank(leaderboardMetric, leaderboardPeriod, user.getId())
+            .map(ranked -> toResponse(leaderboardMetric, ranked))
+            .orElse(null);
+
+    return new LeaderboardResponse(
+        leaderboardMetric.name().toLowerCase(Locale.ROOT),
+        leaderboardPeriod.name().toLowerCase(Locale.ROOT).replace('_', '-'),
+        entries,
+        currentUser);
+  }
+
+  public LeaderboardResponse getFriendsLeaderboard(String userEmail, String metric) {
+    User user = userFacade.getUserByEmail(userEmail);
+    LeaderboardMetric leaderboardMetric = LeaderboardMetric.parse(metric);
+
+    FriendsLeaderboard.Standings standings =
+        friendsLeaderboard.weekly(user, leaderboardMetric);
+    Function<Ranked, LeaderboardEntryResponse> toResponse =
+        ranked ->
+            toResponse(leaderboardMetric, ranked, standings.names().get(ranked.userId()));
+
+    return new LeaderboardResponse(
+        leaderboardMetric.name().toLowerCase(Locale.ROOT),
+        "week",
+        standings.entries().stream().map(toResponse).toList(),
+        standings.currentUser().map(toResponse).orElse(null));
+  }
+
+  private LeaderboardEntryResponse toResponse(LeaderboardMetric metric, Ranked ranked) {
+    return toResponse(metric, ranked, leaderboardEngine.userName(ranked.userId()));
+  }
+
+  private LeaderboardEntryResponse toResponse(
+      LeaderboardMetric metric, Ranked ranked, String userName) {
+    // Accuracy is ranked in basis points
+    double score = metric == LeaderboardMetric.ACCURACY ? ranked.score() / 100.0 : ranked.score();
+    return new LeaderboardEntryResponse(ranked.rank(), ranked.userId(), userName, score);
+  }
+}
@@ -0,0 +1,17 @@
+package com.example.quizlecikprojekt.domain.leaderboard;
+
+import java.util.Locale;
+
+enum LeaderboardMetric {
+  WORDS,
+  ACCURACY,
+  STREAK;
+
+  static LeaderboardMetric parse(String value) {
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown leaderboard metric: " + value);
+    }
+  }
+}
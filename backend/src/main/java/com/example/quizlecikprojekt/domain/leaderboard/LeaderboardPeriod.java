@@ -0,0 +1,16 @@
+package com.example.quizlecikprojekt.domain.leaderboard;
+
+import java.util.Locale;
+
+enum LeaderboardPeriod {
+  WEEK,
+  ALL_TIME;
+
+  static LeaderboardPeriod parse(String value) {
+    try {
+      return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown leaderboard period: " + value);
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package com.example.quizlecikprojekt.domain.leaderboard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(value = "leaderboard")
+public record LeaderboardProperties(String rebuildCron, int accuracyMinAnswers, int maxLimit) {}
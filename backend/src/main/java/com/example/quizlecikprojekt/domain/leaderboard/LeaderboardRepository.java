@@ -0,0 +1,47 @@
+package com.example.quizlecikprojekt.domain.leaderboard;
+
+import com.example.quizlecikprojekt.entity.Progress;
+import com.example.quizlecikprojekt.entity.ProgressRollup.Period;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+interface LeaderboardRepository extends Repository<Progress, Long> {
+
+  // Full-table aggregation for rebuilding the in-memory standings; all-time and weekly totals come
+  // from one statement so both see the same snapshot
+  @Query(
+      "SELECT new com.example.quizlecikprojekt.domain.leaderboard.UserTotals("
+          + " u.id, u.name, SUM(p.totalWordsStudied), SUM(p.correctAnswers),"
+          + " SUM(p.incorrectAnswers),"
+          + " SUM(CASE WHEN p.studyDate >= :weekStart THEN p.totalWordsStudied ELSE 0 END),"
+          + " SUM(CASE WHEN p.studyDate >= :weekStart THEN p.correctAnswers ELSE 0 END),"
+          + " SUM(CASE WHEN p.studyDate >= :weekStart THEN p.incorrectAnswers ELSE 0 END))"
+          + " FROM Progress p JOIN p.user u"
+          + " GROUP BY u.id, u.name")
+  List<UserTotals> findTotals(@Param("weekStart") LocalDate weekStart);
+
+  @Query(
+      "SELECT new com.example.quizlecikprojekt.domain.leaderboard.StreakSnapshot("
+          + " s.userId, s.currentStreak, s.longestStreak, s.lastStudyDate, u.timeZone)"
+          + " FROM UserStreak s JOIN User u ON u.id = s.userId")
+  List<StreakSnapshot> findStreaks();
+
+  // One indexed rollup lookup per user, all in a single statement
+  @Query(
+      "SELECT new com.example.quizlecikprojekt.domain.leaderboard.FriendStanding("
+          + " u.id, u.name, r.totalWordsStudied, r.correctAnswers, r.incorrectAnswers,"
+          + " s.currentStreak, s.lastStudyDate, u.timeZone)"
+          + " FROM User u"
+          + " LEFT JOIN ProgressRollup r"
+          + "   ON r.user.id = u.id AND r.period = :period AND r.periodStart = :weekStart"
+          + " LEFT JOIN UserStreak s ON s.userId = u.id"
+          + " WHERE u.id IN :userIds")
+  List<FriendStanding> findWeeklyStandings(
+      @Param("userIds") Collection<Long> userIds,
+      @Param("period") Period period,
+      @Param("weekStart") LocalDate weekStart);
+}
@@ -0,0 +1,178 @@
+package com.example.quizlecikprojekt.domain.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+// Users ordered by score (highest first, ties by lower user id), kept in a treap whose nodes know
+// their subtree size so that updates and rank lookups are O(log n). Not thread-safe.
+final class RankedSet {
+
+  private final Map<Long, Long> scores = new HashMap<>();
+  private final SplittableRandom random = new SplittableRandom();
+  private Node root;
+
+  void put(long userId, long score) {
+    Long previous = scores.put(userId, score);
+    if (previous != null) {
+      if (previous == score) {
+        return;
+      }
+      root = remove(root, previous, userId);
+    }
+    root = insert(root, new Node(userId, score, random.nextInt()));
+  }
+
+  void remove(long userId) {
+    Long previous = scores.remove(userId);
+    if (previous != null) {
+      root = remove(root, previous, userId);
+    }
+  }
+
+  Optional<Ranked> rank(long userId) {
+    Long score = scores.get(userId);
+    if (score == null) {
+      return Optional.empty();
+    }
+
+    int ahead = 0;
+    Node node = root;
+    while (node != null) {
+      int cmp = compare(score, userId, node);
+      if (cmp < 0) {
+        node = node.left;
+      } else if (cmp > 0) {
+        ahead += size(node.left) + 1;
+        node = node.right;
+      } else {
+        ahead += size(node.left);
+        break;
+      }
+    }
+    return Optional.of(new Ranked(ahead + 1, userId, score));
+  }
+
+  List<Ranked> top(int limit) {
+    List<Ranked> top = new ArrayList<>(Math.min(limit, size()));
+    Deque<Node> path = new ArrayDeque<>();
+    Node node = root;
+    while (top.size() < limit && (node != null || !path.isEmpty())) {
+      while (node != null) {
+        path.push(node);
+        node = node.left;
+      }
+      node = path.pop();
+      top.add(new Ranked(top.size() + 1, node.userId, node.score));
+      node = node.right;
+    }
+    return top;
+  }
+
+  int size() {
+    return scores.size();
+  }
+
+  private Node insert(Node node, Node inserted) {
+    if (node == null) {
+      return inserted;
+    }
+    if (inserted.priority > node.priority) {
+      split(node, inserted.score, inserted.userId, inserted);
+      return inserted.update();
+    }
+    if (compare(inserted.score, inserted.userId, node) < 0) {
+      node.left = insert(node.left, inserted);
+    } else {
+      node.right = insert(node.right, inserted);
+    }
+    return node.update();
+  }
+
+  private Node remove(Node node, long score, long userId) {
+    if (node == null) {
+      return null;
+    }
+    int cmp = compare(score, userId, node);
+    if (cmp == 0) {
+      return merge(node.left, node.right);
+    }
+    if (cmp < 0) {
+      node.left = remove(node.left, score, userId);
+    } else {
+      node.right = remove(node.right, score, userId);
+    }
+    return node.update();
+  }
+
+  // Splits node's subtree around (score, userId) into target's left and right children
+  private void split(Node node, long score, long userId, Node target) {
+    if (node == null) {
+      target.left = null;
+      target.right = null;
+      return;
+    }
+    if (compare(score, userId, node) > 0) {
+      split(node.right, score, userId, target);
+      node.right = target.left;
+      target.left = node.update();
+    } else {
+      split(node.left, score, userId, target);
+      node.left = target.right;
+      target.right = node.update();
+    }
+  }
+
+  private Node merge(Node left, Node right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      return left.update();
+    }
+    right.left = merge(left, right.left);
+    return right.update();
+  }
+
+  private static int compare(long score, long userId, Node node) {
+    if (score != node.score) {
+      return score > node.score ? -1 : 1;
+    }
+    return Long.compare(userId, node.userId);
+  }
+
+  private static int size(Node node) {
+    return node == null ? 0 : node.size;
+  }
+
+  record Ranked(int rank, long userId, long score) {}
+
+  private static final class Node {
+    private final long userId;
+    private final long score;
+    private final int priority;
+    private Node left;
+    private Node right;
+    private int size = 1;
+
+    private Node(long userId, long score, int priority) {
+      this.userId = userId;
+      this.score = score;
+      this.priority = priority;
+    }
+
+    private Node update() {
+      size = 1 + RankedSet.size(left) + RankedSet.size(right);
+      return this;
+    }
+  }
+}
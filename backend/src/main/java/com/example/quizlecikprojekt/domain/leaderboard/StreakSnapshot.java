@@ -0,0 +1,11 @@
+package com.example.quizlecikprojekt.domain.leaderboard;
+
+import java.time.LocalDate;
+
+// Result of LeaderboardRepository.findStreaks
+record StreakSnapshot(
+    Long userId,
+    Integer currentStreak,
+    Integer longestStreak,
+    LocalDate lastStudyDate,
+    String timeZone) {}
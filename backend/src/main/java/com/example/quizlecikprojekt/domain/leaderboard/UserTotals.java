@@ -0,0 +1,12 @@
+package com.example.quizlecikprojekt.domain.leaderboard;
+
+// Result of LeaderboardRepository.findTotals; the week fields only count days since weekStart
+record UserTotals(
+    Long userId,
+    String userName,
+    Long wordsStudied,
+    Long correctAnswers,
+    Long incorrectAnswers,
+    Long weekWordsStudied,
+    Long weekCorrectAnswers,
+    Long weekIncorrectAnswers) {}
@@ -0,0 +1,3 @@
+package com.example.quizlecikprojekt.domain.leaderboard.dto;
+
+public record LeaderboardEntryResponse(int rank, Long userId, String userName, double score) {}
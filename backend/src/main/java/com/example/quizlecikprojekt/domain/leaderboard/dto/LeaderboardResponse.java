@@ -0,0 +1,9 @@
+package com.example.quizlecikprojekt.domain.leaderboard.dto;
+
+import java.util.List;
+
+public record LeaderboardResponse(
+    String metric,
+    String period,
+    List<LeaderboardEntryResponse> entries,
+    LeaderboardEntryResponse currentUser) {}
@@ -0,0 +1,30 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import com.example.quizlecikprojekt.entity.ConsumedLearnToken;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+interface ConsumedLearnTokenRepository extends JpaRepository<ConsumedLearnToken, String> {
+
+  // Returns 0 when the token was already consumed, so of two requests racing on one token
+  // exactly one gets 1
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO consumed_learn_tokens (token_id, expires_at)"
+              + " VALUES (:tokenId, :expiresAt) ON CONFLICT DO NOTHING",
+      nativeQuery = true)
+  int consume(@Param("tokenId") String tokenId, @Param("expiresAt") LocalDateTime expiresAt);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM ConsumedLearnToken t WHERE t.expiresAt <= :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
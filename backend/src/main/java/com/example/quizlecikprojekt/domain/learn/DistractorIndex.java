@@ -0,0 +1,81 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import com.example.quizlecikprojekt.entity.Word;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class DistractorIndex {
+
+  // Random draws before falling back to a full partial shuffle; only reached when most candidates
+  // are duplicates of each other or of the correct answer
+  private static final int MAX_REJECTIONS = 32;
+
+  private final String[] words;
+  private final String[] translations;
+
+  private DistractorIndex(String[] words, String[] translations) {
+    this.words = words;
+    this.translations = translations;
+  }
+
+  static DistractorIndex of(List<Word> source) {
+    int size = source.size();
+    String[] words = new String[size];
+    String[] translations = new String[size];
+
+    for (int i = 0; i < size; i++) {
+      words[i] = source.get(i).getWord();
+      translations[i] = source.get(i).getTranslation();
+    }
+
+    return new DistractorIndex(words, translations);
+  }
+
+  // Each distractor is an independent uniform draw among the remaining candidates, so option sets
+  // of different questions are not correlated with each other
+  List<String> distractors(String correctAnswer, boolean useWords, int count, Random random) {
+    List<String> result = new ArrayList<>(count);
+    String[] candidates = useWords ? words : translations;
+    if (candidates.length == 0) {
+      return result;
+    }
+
+    int rejections = 0;
+    while (result.size() < count && rejections < MAX_REJECTIONS) {
+      String candidate = candidates[random.nextInt(candidates.length)];
+      if (candidate.equals(correctAnswer) || result.contains(candidate)) {
+        rejections++;
+      } else {
+        result.add(candidate);
+      }
+    }
+
+    if (result.size() < count) {
+      fillByPartialShuffle(candidates, correctAnswer, count, random, result);
+    }
+    return result;
+  }
+
+  // Partial Fisher-Yates over a scratch array of indices: visits every candidate at most once, so
+  // it terminates even when fewer than count distinct distractors exist
+  private static void fillByPartialShuffle(
+      String[] candidates, String correctAnswer, int count, Random random, List<String> result) {
+    int[] scratch = new int[candidates.length];
+    for (int i = 0; i < scratch.length; i++) {
+      scratch[i] = i;
+    }
+
+    for (int i = 0; i < scratch.length && result.size() < count; i++) {
+      int j = i + random.nextInt(scratch.length - i);
+      int picked = scratch[j];
+      scratch[j] = scratch[i];
+      scratch[i] = picked;
+
+      String candidate = candidates[picked];
+      if (!candidate.equals(correctAnswer) && !result.contains(candidate)) {
+        result.add(candidate);
+      }
+    }
+  }
+}
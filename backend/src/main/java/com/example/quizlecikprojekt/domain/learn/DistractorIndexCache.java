@@ -0,0 +1,60 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import com.example.quizlecikprojekt.config.cache.ResettableCache;
+import com.example.quizlecikprojekt.domain.wordset.WordSetChangedEvent;
+import com.example.quizlecikprojekt.entity.Word;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+class DistractorIndexCache implements ResettableCache {
+
+  private static final int MAX_CACHED_WORD_SETS = 1000;
+
+  private final Map<Long, DistractorIndex> indexes =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, DistractorIndex> eldest) {
+          return size() > MAX_CACHED_WORD_SETS;
+        }
+      };
+
+  // Bumped on every invalidation so a build that raced with a change is never cached
+  private long generation;
+
+  DistractorIndex get(Long wordSetId, Supplier<List<Word>> words) {
+    long buildGeneration;
+    synchronized (this) {
+      DistractorIndex cached = indexes.get(wordSetId);
+      if (cached != null) {
+        return cached;
+      }
+      buildGeneration = generation;
+    }
+
+    DistractorIndex built = DistractorIndex.of(words.get());
+
+    synchronized (this) {
+      if (generation == buildGeneration) {
+        indexes.put(wordSetId, built);
+      }
+    }
+    return built;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  synchronized void onWordSetChanged(WordSetChangedEvent event) {
+    indexes.remove(event.wordSetId());
+    generation++;
+  }
+
+  @Override
+  public synchronized void reset() {
+    indexes.clear();
+    generation++;
+  }
+}
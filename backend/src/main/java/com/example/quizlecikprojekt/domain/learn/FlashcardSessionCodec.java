@@ -0,0 +1,57 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import com.example.quizlecikprojekt.domain.learn.dto.FlashcardSession;
+import com.example.quizlecikprojekt.domain.learn.dto.WordDeck;
+import com.example.quizlecikprojekt.domain.wordset.WordFacade;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+class FlashcardSessionCodec implements LearnSessionCodec<FlashcardSession> {
+
+  private final WordFacade wordFacade;
+
+  @Override
+  public void writeSnapshot(FlashcardSession session, DataOutput out) throws IOException {
+    out.writeLong(session.getWordSetId());
+    out.writeUTF(Objects.toString(session.getWordSetTitle(), ""));
+    LearnSessionCodec.writeTime(session.getStartedAt(), out);
+    out.writeLong(session.getUserId());
+    out.writeBoolean(session.isReview());
+    LearnSessionCodec.writeDeck(session.getWords(), out);
+  }
+
+  @Override
+  public void writeProgress(FlashcardSession session, DataOutput out) throws IOException {
+    LearnSessionCodec.writeVarLong(session.getCurrentIndex(), out);
+    LearnSessionCodec.writeVarLong(session.getScore(), out);
+    LearnSessionCodec.writeBits(session.getIncorrectWords(), out);
+  }
+
+  @Override
+  public Optional<FlashcardSession> read(String sessionId, DataInput snapshot, DataInput progress)
+      throws IOException {
+    FlashcardSession session = new FlashcardSession();
+    session.setSessionId(sessionId);
+    session.setWordSetId(snapshot.readLong());
+    session.setWordSetTitle(snapshot.readUTF());
+    session.setStartedAt(LearnSessionCodec.readTime(snapshot));
+    session.setUserId(snapshot.readLong());
+    session.setReview(snapshot.readBoolean());
+
+    Optional<WordDeck> words = LearnSessionCodec.readDeck(snapshot, wordFacade);
+    if (words.isEmpty()) {
+      return Optional.empty();
+    }
+    session.setWords(words.get());
+
+    session.setCurrentIndex((int) LearnSessionCodec.readVarLong(progress));
+    session.setScore((int) LearnSessionCodec.readVarLong(progress));
+    session.setIncorrectWords(LearnSessionCodec.readBits(progress));
+    return Optional.of(session);
+  }
+}
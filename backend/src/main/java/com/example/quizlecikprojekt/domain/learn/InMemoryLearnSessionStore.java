@@ -0,0 +1,206 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+class InMemoryLearnSessionStore<S> implements LearnSessionStore<S> {
+
+  private final int maxEntries;
+  private final long maxWeight;
+  private final Duration idleTtl;
+  private final ToIntFunction<S> weigher;
+  private final Clock clock;
+
+  // Access-ordered, so the head is always the least recently used (and longest idle) session
+  private final LinkedHashMap<String, Entry<S>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final ReentrantLock lock = new ReentrantLock();
+  private long totalWeight;
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter sizeEvictions;
+  private final Counter expiredEvictions;
+
+  InMemoryLearnSessionStore(
+      String type,
+      LearnSessionProperties properties,
+      ToIntFunction<S> weigher,
+      Clock clock,
+      MeterRegistry meterRegistry) {
+    this.maxEntries = properties.maxEntries();
+    this.maxWeight = properties.maxWeight();
+    this.idleTtl = properties.idleTtl();
+    this.weigher = weigher;
+    this.clock = clock;
+
+    this.hits = requests(meterRegistry, type, "hit");
+    this.misses = requests(meterRegistry, type, "miss");
+    this.sizeEvictions = evictions(meterRegistry, type, "size");
+    this.expiredEvictions = evictions(meterRegistry, type, "expired");
+
+    Gauge.builder("learn.sessions.active", this, InMemoryLearnSessionStore::size)
+        .tag("type", type)
+        .register(meterRegistry);
+    Gauge.builder("learn.sessions.weight", this, InMemoryLearnSessionStore::weight)
+        .tag("type", type)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public String put(String sessionId, S session) {
+    Entry<S> entry = new Entry<>(session, weigher.applyAsInt(session), clock.instant());
+
+    lock.lock();
+    try {
+      Entry<S> previous = entries.put(sessionId, entry);
+      if (previous != null) {
+        totalWeight -= previous.weight;
+      }
+      totalWeight += entry.weight;
+      evictOverflow();
+    } finally {
+      lock.unlock();
+    }
+    return sessionId;
+  }
+
+  @Override
+  public Optional<S> get(String sessionId) {
+    Instant now = clock.instant();
+
+    lock.lock();
+    try {
+      Entry<S> entry = entries.get(sessionId);
+      if (entry == null) {
+        misses.increment();
+        return Optional.empty();
+      }
+      if (isExpired(entry, now)) {
+        discard(sessionId, entry);
+        expiredEvictions.increment();
+        misses.increment();
+        return Optional.empty();
+      }
+      entry.lastAccess = now;
+      hits.increment();
+      return Optional.of(entry.session);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Optional<S> remove(String sessionId) {
+    lock.lock();
+    try {
+      Entry<S> entry = entries.remove(sessionId);
+      if (entry == null) {
+        return Optional.empty();
+      }
+      totalWeight -= entry.weight;
+      return Optional.of(entry.session);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int evictExpired() {
+    Instant now = clock.instant();
+    int evicted = 0;
+
+    lock.lock();
+    try {
+      Iterator<Map.Entry<String, Entry<S>>> iterator = entries.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Entry<S> entry = iterator.next().getValue();
+        if (!isExpired(entry, now)) {
+          break;
+        }
+        iterator.remove();
+        totalWeight -= entry.weight;
+        evicted++;
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    expiredEvictions.increment(evicted);
+    return evicted;
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  long weight() {
+    lock.lock();
+    try {
+      return totalWeight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void evictOverflow() {
+    Iterator<Map.Entry<String, Entry<S>>> iterator = entries.entrySet().iterator();
+    // Never evict the most recently written session, even if it alone exceeds the weight limit
+    while (entries.size() > 1 && (entries.size() > maxEntries || totalWeight > maxWeight)) {
+      Entry<S> eldest = iterator.next().getValue();
+      iterator.remove();
+      totalWeight -= eldest.weight;
+      sizeEvictions.increment();
+    }
+  }
+
+  private void discard(String sessionId, Entry<S> entry) {
+    entries.remove(sessionId);
+    totalWeight -= entry.weight;
+  }
+
+  private boolean isExpired(Entry<S> entry, Instant now) {
+    return entry.lastAccess.plus(idleTtl).isBefore(now);
+  }
+
+  private static Counter requests(MeterRegistry meterRegistry, String type, String result) {
+    return Counter.builder("learn.sessions.requests")
+        .tag("type", type)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private static Counter evictions(MeterRegistry meterRegistry, String type, String cause) {
+    return Counter.builder("learn.sessions.evictions")
+        .tag("type", type)
+        .tag("cause", cause)
+        .register(meterRegistry);
+  }
+
+  private static final class Entry<S> {
+    private final S session;
+    private final int weight;
+    private Instant lastAccess;
+
+    private Entry(S session, int weight, Instant lastAccess) {
+      this.session = session;
+      this.weight = weight;
+      this.lastAccess = lastAccess;
+    }
+  }
+}
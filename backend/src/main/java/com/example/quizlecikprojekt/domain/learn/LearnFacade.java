@@ -4,42 +4,64 @@ import com.example.quizlecikprojekt.controllers.dto.learn.*;
 import com.example.quizlecikprojekt.domain.learn.dto.FlashcardSession;
 import com.example.quizlecikprojekt.domain.learn.dto.QuizQuestion;
 import com.example.quizlecikprojekt.domain.learn.dto.QuizSession;
+import com.example.quizlecikprojekt.domain.learn.dto.WordDeck;
+import com.example.quizlecikprojekt.domain.user.UserFacade;
+import com.example.quizlecikprojekt.entity.User;
 import com.example.quizlecikprojekt.entity.Word;
 import com.example.quizlecikprojekt.domain.wordset.WordFacade;
 import com.example.quizlecikprojekt.entity.WordSet;
 import com.example.quizlecikprojekt.domain.wordset.WordSetFacade;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
 @AllArgsConstructor
 public class LearnFacade {
 
+  private static final long QUESTION_SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+  private static final String REVIEW_MODE = "review";
+  private static final int DEFAULT_REVIEW_CARDS = 20;
+
   private final WordSetFacade wordSetFacade;
   private final WordFacade wordFacade;
+  private final UserFacade userFacade;
+  private final DistractorIndexCache distractorIndexCache;
+  private final ReviewScheduler reviewScheduler;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Clock clock;
 
-  private final Map<String, FlashcardSession> flashcardSessions = new ConcurrentHashMap<>();
-  private final Map<String, QuizSession> quizSessions = new ConcurrentHashMap<>();
+  private final LearnSessionStore<FlashcardSession> flashcardSessionStore;
+  private final LearnSessionStore<QuizSession> quizSessionStore;
 
   public FlashcardSessionResponse startFlashcardSession(
       String userEmail, StartFlashcardRequest request) {
     WordSet wordSet = wordSetFacade.getWordSetById(request.wordSetId());
+    User user = userFacade.getUserByEmail(userEmail);
+
+    if (REVIEW_MODE.equalsIgnoreCase(request.mode())) {
+      return startReviewSession(user, wordSet, request);
+    }
+
     List<Word> words = wordSet.getWords();
 
     if (words.isEmpty()) {
       throw new IllegalArgumentException("Word set has no words to learn");
     }
 
-    Collections.shuffle(words);
+    List<Word> shuffledWords = new ArrayList<>(words);
+    Collections.shuffle(shuffledWords);
 
     String sessionId = generateSessionId();
-    FlashcardSession session = createFlashcardSession(sessionId, wordSet, words);
+    FlashcardSession session =
+        createFlashcardSession(sessionId, user, wordSet, WordDeck.of(shuffledWords));
 
-    flashcardSessions.put(sessionId, session);
+    saveFlashcardSession(session);
 
     return buildFlashcardResponse(session);
   }
@@ -47,16 +69,26 @@ public class LearnFacade {
   public FlashcardSessionResponse answerFlashcard(AnswerFlashcardRequest request) {
     FlashcardSession session = getFlashcardSession(request.sessionId());
 
-    Word currentWord = session.getWords().get(session.getCurrentIndex());
+    int currentIndex = session.getCurrentIndex();
+    Long wordId = session.getWords().id(currentIndex);
 
     if (request.isCorrect()) {
       session.incrementScore();
-      wordFacade.updateWordPoints(currentWord.getId(), currentWord.getPoints() + 1);
     } else {
-      session.addIncorrectWord(currentWord);
+      session.addIncorrectWord(currentIndex);
     }
 
-    session.setCurrentIndex(session.getCurrentIndex() + 1);
+    // Saved before anything is scored, so an answer replayed with a stateless token that was
+    // already used is rejected here without side effects
+    session.setCurrentIndex(currentIndex + 1);
+    saveFlashcardSession(session);
+
+    if (request.isCorrect()) {
+      wordFacade.addWordPoints(wordId, 1);
+    }
+    if (session.isReview()) {
+      reviewScheduler.recordReview(session.getUserId(), wordId, request.isCorrect());
+    }
 
     return buildFlashcardResponse(session);
   }
@@ -67,10 +99,18 @@ public class LearnFacade {
   }
 
   public SessionSummaryResponse endFlashcardSession(String sessionId) {
-    FlashcardSession session = flashcardSessions.remove(sessionId);
-    if (session == null) {
-      throw new IllegalArgumentException("Flashcard session not found");
-    }
+    FlashcardSession session =
+        flashcardSessionStore
+            .remove(sessionId)
+            .orElseThrow(() -> new IllegalArgumentException("Flashcard session not found"));
+    wordFacade.requestWordPointsFlush();
+    publishCompleted(
+        session.getUserId(),
+        session.getWordSetId(),
+        "flashcard",
+        session.getCurrentIndex(),
+        session.getScore(),
+        session.getStartedAt());
 
     return buildSessionSummary(session, "flashcard");
   }
@@ -78,18 +118,20 @@ public class LearnFacade {
   public QuizSessionResponse startQuizSession(String userEmail, StartQuizRequest request) {
 
     WordSet wordSet = wordSetFacade.getWordSetById(request.wordSetId());
+    User user = userFacade.getUserByEmail(userEmail);
     List<Word> allWords = wordSet.getWords();
 
     if (allWords.isEmpty()) {
       throw new IllegalArgumentException("Word set has no words for quiz");
     }
 
-    List<Word> quizWords = selectQuizWords(allWords, request.numberOfQuestions());
+    long seed = ThreadLocalRandom.current().nextLong();
+    List<Word> quizWords = selectQuizWords(allWords, request.numberOfQuestions(), seed);
 
     String sessionId = generateSessionId();
-    QuizSession session = createQuizSession(sessionId, wordSet, quizWords, allWords);
+    QuizSession session = createQuizSession(sessionId, user, wordSet, quizWords, seed);
 
-    quizSessions.put(sessionId, session);
+    saveQuizSession(session);
 
     return buildQuizResponse(session);
   }
@@ -97,19 +139,23 @@ public class LearnFacade {
   public QuizSessionResponse answerQuiz(AnswerQuizRequest request) {
     QuizSession session = getQuizSession(request.sessionId());
 
-    QuizQuestion currentQuestion = session.getQuestions().get(session.getCurrentQuestionIndex());
-    boolean isCorrect =
-        currentQuestion.getCorrectAnswer().equalsIgnoreCase(request.answer().trim());
+    QuizQuestion currentQuestion = currentQuizQuestion(session);
+    boolean isCorrect = currentQuestion.correctAnswer().equalsIgnoreCase(request.answer().trim());
+
+    int wordIndex = currentQuestion.wordIndex();
 
     if (isCorrect) {
       session.incrementScore();
-      wordFacade.updateWordPoints(
-          currentQuestion.getWord().getId(), currentQuestion.getWord().getPoints() + 1);
     } else {
-      session.addIncorrectWord(currentQuestion.getWord());
+      session.addIncorrectWord(wordIndex);
     }
 
     session.setCurrentQuestionIndex(session.getCurrentQuestionIndex() + 1);
+    saveQuizSession(session);
+
+    if (isCorrect) {
+      wordFacade.addWordPoints(session.getWords().id(wordIndex), 1);
+    }
 
     return buildQuizResponse(session);
   }
@@ -120,29 +166,86 @@ public class LearnFacade {
   }
 
   public SessionSummaryResponse endQuizSession(String sessionId) {
-    QuizSession session = quizSessions.remove(sessionId);
-    if (session == null) {
-      throw new IllegalArgumentException("Quiz session not found");
-    }
+    QuizSession session =
+        quizSessionStore
+            .remove(sessionId)
+            .orElseThrow(() -> new IllegalArgumentException("Quiz session not found"));
+    wordFacade.requestWordPointsFlush();
+    publishCompleted(
+        session.getUserId(),
+        session.getWordSetId(),
+        "quiz",
+        session.getCurrentQuestionIndex(),
+        session.getScore(),
+        session.getStartedAt());
 
     return buildSessionSummary(session, "quiz");
   }
 
   // Private helper methods
-  private FlashcardSession getFlashcardSession(String sessionId) {
-    FlashcardSession session = flashcardSessions.get(sessionId);
-    if (session == null) {
-      throw new IllegalArgumentException("Flashcard session not found");
+  private FlashcardSessionResponse startReviewSession(
+      User user, WordSet wordSet, StartFlashcardRequest request) {
+    int limit = request.limit() != null ? request.limit() : DEFAULT_REVIEW_CARDS;
+
+    List<Word> dueWords = reviewScheduler.nextDue(user.getId(), wordSet.getId(), limit);
+    if (dueWords.isEmpty()) {
+      throw new IllegalArgumentException(
+          wordSet.getWords().isEmpty()
+              ? "Word set has no words to learn"
+              : "No cards are due for review in this word set");
     }
-    return session;
+
+    String sessionId = generateSessionId();
+    FlashcardSession session =
+        createFlashcardSession(sessionId, user, wordSet, WordDeck.of(dueWords));
+    session.setReview(true);
+
+    saveFlashcardSession(session);
+
+    return buildFlashcardResponse(session);
+  }
+
+  private FlashcardSession getFlashcardSession(String sessionId) {
+    return flashcardSessionStore
+        .get(sessionId)
+        .orElseThrow(() -> new IllegalArgumentException("Flashcard session not found"));
   }
 
   private QuizSession getQuizSession(String sessionId) {
-    QuizSession session = quizSessions.get(sessionId);
-    if (session == null) {
-      throw new IllegalArgumentException("Quiz session not found");
+    return quizSessionStore
+        .get(sessionId)
+        .orElseThrow(() -> new IllegalArgumentException("Quiz session not found"));
+  }
+
+  private void saveFlashcardSession(FlashcardSession session) {
+    session.setSessionId(flashcardSessionStore.put(session.getSessionId(), session));
+  }
+
+  private void saveQuizSession(QuizSession session) {
+    session.setSessionId(quizSessionStore.put(session.getSessionId(), session));
+  }
+
+  // Progress is recorded from this event off the request path, see LearnSessionProgressRecorder
+  private void publishCompleted(
+      Long userId,
+      Long wordSetId,
+      String sessionType,
+      int answered,
+      int correct,
+      LocalDateTime startedAt) {
+    if (userId == null || answered == 0) {
+      return;
     }
-    return session;
+    eventPublisher.publishEvent(
+        new LearnSessionCompleted(
+            userId,
+            wordSetId,
+            sessionType,
+            answered,
+            correct,
+            answered - correct,
+            startedAt,
+            LocalDateTime.now(clock)));
   }
 
   private String generateSessionId() {
@@ -150,39 +253,56 @@ public class LearnFacade {
   }
 
   private FlashcardSession createFlashcardSession(
-      String sessionId, WordSet wordSet, List<Word> words) {
+      String sessionId, User user, WordSet wordSet, WordDeck words) {
     FlashcardSession session = new FlashcardSession();
     session.setSessionId(sessionId);
+    session.setUserId(user.getId());
     session.setWordSetId(wordSet.getId());
     session.setWordSetTitle(wordSet.getTitle());
     session.setWords(words);
     session.setCurrentIndex(0);
     session.setScore(0);
-    session.setIncorrectWords(new ArrayList<>());
-    session.setStartedAt(LocalDateTime.now());
+    session.setIncorrectWords(new BitSet(words.size()));
+    session.setStartedAt(LocalDateTime.now(clock));
     return session;
   }
 
   private QuizSession createQuizSession(
-      String sessionId, WordSet wordSet, List<Word> quizWords, List<Word> allWords) {
+      String sessionId, User user, WordSet wordSet, List<Word> quizWords, long seed) {
     QuizSession session = new QuizSession();
     session.setSessionId(sessionId);
+    session.setUserId(user.getId());
     session.setWordSetId(wordSet.getId());
     session.setWordSetTitle(wordSet.getTitle());
-    session.setQuestions(generateQuizQuestions(quizWords, allWords));
+    session.setWords(WordDeck.of(quizWords));
+    session.setSeed(seed);
     session.setCurrentQuestionIndex(0);
     session.setScore(0);
-    session.setIncorrectWords(new ArrayList<>());
-    session.setStartedAt(LocalDateTime.now());
+    session.setIncorrectWords(new BitSet(quizWords.size()));
+    session.setStartedAt(LocalDateTime.now(clock));
     return session;
   }
 
-  private List<Word> selectQuizWords(List<Word> allWords, int numberOfQuestions) {
-    if (numberOfQuestions > 0 && numberOfQuestions < allWords.size()) {
-      Collections.shuffle(allWords);
-      return allWords.subList(0, numberOfQuestions);
+  // Partial Fisher-Yates over word indices: only the first numberOfQuestions slots are drawn
+  private List<Word> selectQuizWords(List<Word> allWords, int numberOfQuestions, long seed) {
+    int total = allWords.size();
+    int count = numberOfQuestions > 0 && numberOfQuestions < total ? numberOfQuestions : total;
+
+    int[] permutation = new int[total];
+    for (int i = 0; i < total; i++) {
+      permutation[i] = i;
+    }
+
+    Random random = new Random(seed);
+    List<Word> quizWords = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int j = i + random.nextInt(total - i);
+      int picked = permutation[j];
+      permutation[j] = permutation[i];
+      permutation[i] = picked;
+      quizWords.add(allWords.get(picked));
     }
-    return allWords;
+    return quizWords;
   }
 
   private FlashcardSessionResponse buildFlashcardResponse(FlashcardSession session) {
@@ -190,10 +310,10 @@ public class LearnFacade {
     FlashcardResponse currentCard = null;
 
     if (!isCompleted) {
-      Word currentWord = session.getWords().get(session.getCurrentIndex());
+      WordDeck words = session.getWords();
+      int index = session.getCurrentIndex();
       currentCard =
-          new FlashcardResponse(
-              currentWord.getId(), currentWord.getWord(), currentWord.getTranslation(), false);
+          new FlashcardResponse(words.id(index), words.word(index), words.translation(index), false);
     }
 
     return new FlashcardSessionResponse(
@@ -207,76 +327,75 @@ public class LearnFacade {
         currentCard);
   }
 
-  private List<QuizQuestion> generateQuizQuestions(List<Word> quizWords, List<Word> allWords) {
-    List<QuizQuestion> questions = new ArrayList<>();
-    Random random = new Random();
-
-    for (Word word : quizWords) {
-      boolean wordToTranslation = random.nextBoolean();
-
-      QuizQuestion question = new QuizQuestion();
-      question.setWord(word);
-
-      if (wordToTranslation) {
-        question.setQuestion(word.getWord());
-        question.setCorrectAnswer(word.getTranslation());
-        question.setQuestionType("word_to_translation");
-        question.setOptions(generateOptions(word.getTranslation(), allWords, false));
-      } else {
-        question.setQuestion(word.getTranslation());
-        question.setCorrectAnswer(word.getWord());
-        question.setQuestionType("translation_to_word");
-        question.setOptions(generateOptions(word.getWord(), allWords, true));
-      }
-
-      questions.add(question);
+  private QuizQuestion currentQuizQuestion(QuizSession session) {
+    int index = session.getCurrentQuestionIndex();
+    QuizQuestion question = session.getCurrentQuestion();
+
+    if (question == null || question.wordIndex() != index) {
+      question = generateQuizQuestion(session, index);
+      session.setCurrentQuestion(question);
     }
+    return question;
+  }
 
-    Collections.shuffle(questions);
-    return questions;
+  // Question i asks about word i of the session deck, which is already in quiz order
+  private QuizQuestion generateQuizQuestion(QuizSession session, int index) {
+    DistractorIndex distractors =
+        distractorIndexCache.get(
+            session.getWordSetId(),
+            () -> wordSetFacade.getWordSetById(session.getWordSetId()).getWords());
+
+    // Seeded per question, so regenerating a question always yields the same one
+    Random random = new Random(session.getSeed() + index * QUESTION_SEED_STRIDE);
+    WordDeck words = session.getWords();
+    String word = words.word(index);
+    String translation = words.translation(index);
+
+    if (random.nextBoolean()) {
+      return new QuizQuestion(
+          index,
+          word,
+          translation,
+          generateOptions(translation, distractors, false, random),
+          "word_to_translation");
+    }
+    return new QuizQuestion(
+        index,
+        translation,
+        word,
+        generateOptions(word, distractors, true, random),
+        "translation_to_word");
   }
 
   private List<String> generateOptions(
-      String correctAnswer, List<Word> allWords, boolean useWords) {
-    Set<String> options = new HashSet<>();
+      String correctAnswer, DistractorIndex distractors, boolean useWords, Random random) {
+    List<String> options = new ArrayList<>(4);
     options.add(correctAnswer);
+    options.addAll(distractors.distractors(correctAnswer, useWords, 3, random));
 
-    List<String> candidates =
-        allWords.stream()
-            .map(useWords ? Word::getWord : Word::getTranslation)
-            .filter(s -> !s.equals(correctAnswer))
-            .collect(Collectors.toList());
-
-    Collections.shuffle(candidates);
-
-    for (int i = 0; i < Math.min(3, candidates.size()); i++) {
-      options.add(candidates.get(i));
-    }
-
-    List<String> result = new ArrayList<>(options);
-    Collections.shuffle(result);
-    return result;
+    Collections.shuffle(options, random);
+    return options;
   }
 
   private QuizSessionResponse buildQuizResponse(QuizSession session) {
-    boolean isCompleted = session.getCurrentQuestionIndex() >= session.getQuestions().size();
+    boolean isCompleted = session.getCurrentQuestionIndex() >= session.getQuestionCount();
     QuizQuestionResponse currentQuestion = null;
 
     if (!isCompleted) {
-      QuizQuestion question = session.getQuestions().get(session.getCurrentQuestionIndex());
+      QuizQuestion question = currentQuizQuestion(session);
       currentQuestion =
           new QuizQuestionResponse(
-              question.getWord().getId(),
-              question.getQuestion(),
-              question.getOptions(),
-              question.getQuestionType());
+              session.getWords().id(question.wordIndex()),
+              question.question(),
+              question.options(),
+              question.questionType());
     }
 
     return new QuizSessionResponse(
         session.getSessionId(),
         session.getWordSetId(),
         session.getWordSetTitle(),
-        session.getQuestions().size(),
+        session.getQuestionCount(),
         session.getCurrentQuestionIndex(),
         session.getScore(),
         isCompleted,
@@ -289,12 +408,7 @@ public class LearnFacade {
           !fs.getWords().isEmpty() ? (double) fs.getScore() / fs.getWords().size() * 100 : 0;
 
       List<WordResultResponse> incorrectWords =
-          fs.getIncorrectWords().stream()
-              .map(
-                  word ->
-                      new WordResultResponse(
-                          word.getId(), word.getWord(), word.getTranslation(), false))
-              .toList();
+          mapIncorrectWords(fs.getWords(), fs.getIncorrectWords());
 
       return new SessionSummaryResponse(
           fs.getSessionId(),
@@ -309,26 +423,21 @@ public class LearnFacade {
           LocalDateTime.now().toString());
     } else if (session instanceof QuizSession qs) {
       double accuracy =
-          !qs.getQuestions().isEmpty()
-              ? (double) qs.getScore() / qs.getQuestions().size() * 100
+          qs.getQuestionCount() > 0
+              ? (double) qs.getScore() / qs.getQuestionCount() * 100
               : 0;
 
       List<WordResultResponse> incorrectWords =
-          qs.getIncorrectWords().stream()
-              .map(
-                  word ->
-                      new WordResultResponse(
-                          word.getId(), word.getWord(), word.getTranslation(), false))
-              .toList();
+          mapIncorrectWords(qs.getWords(), qs.getIncorrectWords());
 
       return new SessionSummaryResponse(
           qs.getSessionId(),
           type,
           qs.getWordSetId(),
           qs.getWordSetTitle(),
-          qs.getQuestions().size(),
+          qs.getQuestionCount(),
           qs.getScore(),
-          qs.getQuestions().size() - qs.getScore(),
+          qs.getQuestionCount() - qs.getScore(),
           accuracy,
           incorrectWords,
           LocalDateTime.now().toString());
@@ -336,4 +445,13 @@ public class LearnFacade {
 
     throw new IllegalArgumentException("Unknown session type");
   }
+
+  private List<WordResultResponse> mapIncorrectWords(WordDeck words, BitSet incorrectWords) {
+    return incorrectWords.stream()
+        .mapToObj(
+            index ->
+                new WordResultResponse(
+                    words.id(index), words.word(index), words.translation(index), false))
+        .toList();
+  }
 }
@@ -0,0 +1,105 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import com.example.quizlecikprojekt.domain.learn.dto.WordDeck;
+import com.example.quizlecikprojekt.domain.wordset.WordFacade;
+import com.example.quizlecikprojekt.entity.Word;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Binary form of a learn session: word ids only, texts are reloaded on read. The snapshot
+// part never changes after the session starts; the progress part changes with every answer.
+interface LearnSessionCodec<S> {
+
+  void writeSnapshot(S session, DataOutput out) throws IOException;
+
+  void writeProgress(S session, DataOutput out) throws IOException;
+
+  // Empty when a word of the session no longer exists
+  Optional<S> read(String sessionId, DataInput snapshot, DataInput progress) throws IOException;
+
+  static void writeDeck(WordDeck deck, DataOutput out) throws IOException {
+    writeVarLong(deck.size(), out);
+    long previous = 0;
+    // Ids of one word set are close together, so zig-zag deltas stay one or two bytes each
+    for (int i = 0; i < deck.size(); i++) {
+      long delta = deck.id(i) - previous;
+      writeVarLong((delta << 1) ^ (delta >> 63), out);
+      previous = deck.id(i);
+    }
+  }
+
+  static Optional<WordDeck> readDeck(DataInput in, WordFacade wordFacade) throws IOException {
+    int size = (int) readVarLong(in);
+    List<Long> ids = new ArrayList<>(size);
+    long previous = 0;
+    for (int i = 0; i < size; i++) {
+      long zigZag = readVarLong(in);
+      previous += (zigZag >>> 1) ^ -(zigZag & 1);
+      ids.add(previous);
+    }
+
+    Map<Long, Word> wordsById =
+        wordFacade.getWordsByIds(ids).stream()
+            .collect(Collectors.toMap(Word::getId, Function.identity()));
+
+    List<Word> words = new ArrayList<>(size);
+    for (Long id : ids) {
+      Word word = wordsById.get(id);
+      if (word == null) {
+        return Optional.empty();
+      }
+      words.add(word);
+    }
+    return Optional.of(WordDeck.of(words));
+  }
+
+  static void writeBits(BitSet bits, DataOutput out) throws IOException {
+    byte[] bytes = bits.toByteArray();
+    writeVarLong(bytes.length, out);
+    out.write(bytes);
+  }
+
+  static BitSet readBits(DataInput in) throws IOException {
+    byte[] bytes = new byte[(int) readVarLong(in)];
+    in.readFully(bytes);
+    return BitSet.valueOf(bytes);
+  }
+
+  static void writeTime(LocalDateTime time, DataOutput out) throws IOException {
+    out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+  }
+
+  static LocalDateTime readTime(DataInput in) throws IOException {
+    return LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC);
+  }
+
+  static void writeVarLong(long value, DataOutput out) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  static long readVarLong(DataInput in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+}
@@ -0,0 +1,13 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import java.time.LocalDateTime;
+
+public record LearnSessionCompleted(
+    Long userId,
+    Long wordSetId,
+    String sessionType,
+    int answered,
+    int correctAnswers,
+    int incorrectAnswers,
+    LocalDateTime startedAt,
+    LocalDateTime completedAt) {}
@@ -0,0 +1,27 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import com.example.quizlecikprojekt.domain.learn.dto.FlashcardSession;
+import com.example.quizlecikprojekt.domain.learn.dto.QuizSession;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Log4j2
+@Component
+@AllArgsConstructor
+class LearnSessionExpiryJob {
+
+  private final LearnSessionStore<FlashcardSession> flashcardSessionStore;
+  private final LearnSessionStore<QuizSession> quizSessionStore;
+
+  @Scheduled(
+      fixedDelayString = "${learn.session.sweep-interval}",
+      initialDelayString = "${learn.session.sweep-interval}")
+  void evictIdleSessions() {
+    int evicted = flashcardSessionStore.evictExpired() + quizSessionStore.evictExpired();
+    if (evicted > 0) {
+      log.debug("Evicted {} idle learn sessions", evicted);
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(value = "learn.session")
+public record LearnSessionProperties(
+    int maxEntries,
+    long maxWeight,
+    Duration idleTtl,
+    Duration sweepInterval,
+    boolean stateless,
+    String tokenSecret,
+    boolean persistent) {}
@@ -0,0 +1,55 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import com.example.quizlecikprojekt.entity.LearnSessionRecord;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+interface LearnSessionRecordRepository extends JpaRepository<LearnSessionRecord, String> {
+
+  @Query(
+      "SELECT r FROM LearnSessionRecord r WHERE r.sessionId = :sessionId AND r.type = :type"
+          + " AND r.expiresAt > :now")
+  Optional<LearnSessionRecord> findActive(
+      @Param("sessionId") String sessionId,
+      @Param("type") String type,
+      @Param("now") LocalDateTime now);
+
+  @Query(
+      "SELECT r.version FROM LearnSessionRecord r WHERE r.sessionId = :sessionId"
+          + " AND r.type = :type AND r.expiresAt > :now")
+  Optional<Long> findActiveVersion(
+      @Param("sessionId") String sessionId,
+      @Param("type") String type,
+      @Param("now") LocalDateTime now);
+
+  // Returns 0 when another write got in since the given version was read
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE LearnSessionRecord r SET r.progress = :progress, r.expiresAt = :expiresAt,"
+          + " r.version = r.version + 1"
+          + " WHERE r.sessionId = :sessionId AND r.type = :type AND r.version = :version")
+  int updateProgress(
+      @Param("sessionId") String sessionId,
+      @Param("type") String type,
+      @Param("version") long version,
+      @Param("progress") byte[] progress,
+      @Param("expiresAt") LocalDateTime expiresAt);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM LearnSessionRecord r WHERE r.sessionId = :sessionId AND r.type = :type")
+  int deleteSession(@Param("sessionId") String sessionId, @Param("type") String type);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM LearnSessionRecord r WHERE r.type = :type AND r.expiresAt <= :now")
+  int deleteExpired(@Param("type") String type, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,17 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import java.util.Optional;
+
+public interface LearnSessionStore<S> {
+
+  // Returns the id the client has to use from now on; stateless stores issue a new one each time
+  String put(String sessionId, S session);
+
+  Optional<S> get(String sessionId);
+
+  Optional<S> remove(String sessionId);
+
+  int evictExpired();
+
+  int size();
+}
@@ -0,0 +1,75 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import com.example.quizlecikprojekt.domain.learn.dto.FlashcardSession;
+import com.example.quizlecikprojekt.domain.learn.dto.QuizSession;
+import com.example.quizlecikprojekt.domain.wordset.WordFacade;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+class LearnSessionStoreConfig {
+
+  @Bean
+  LearnSessionStore<FlashcardSession> flashcardSessionStore(
+      LearnSessionProperties properties,
+      WordFacade wordFacade,
+      LearnSessionRecordRepository recordRepository,
+      ConsumedLearnTokenRepository consumedTokenRepository,
+      Clock clock,
+      MeterRegistry meterRegistry) {
+    if (properties.stateless()) {
+      return new SignedTokenLearnSessionStore<>(
+          "flashcard",
+          new FlashcardSessionCodec(wordFacade),
+          consumedTokenRepository,
+          properties,
+          clock,
+          meterRegistry);
+    }
+    if (properties.persistent()) {
+      return new PersistentLearnSessionStore<>(
+          "flashcard",
+          session -> session.getWords().size(),
+          new FlashcardSessionCodec(wordFacade),
+          recordRepository,
+          properties,
+          clock,
+          meterRegistry);
+    }
+    return new InMemoryLearnSessionStore<>(
+        "flashcard", properties, session -> session.getWords().size(), clock, meterRegistry);
+  }
+
+  @Bean
+  LearnSessionStore<QuizSession> quizSessionStore(
+      LearnSessionProperties properties,
+      WordFacade wordFacade,
+      LearnSessionRecordRepository recordRepository,
+      ConsumedLearnTokenRepository consumedTokenRepository,
+      Clock clock,
+      MeterRegistry meterRegistry) {
+    if (properties.stateless()) {
+      return new SignedTokenLearnSessionStore<>(
+          "quiz",
+          new QuizSessionCodec(wordFacade),
+          consumedTokenRepository,
+          properties,
+          clock,
+          meterRegistry);
+    }
+    if (properties.persistent()) {
+      return new PersistentLearnSessionStore<>(
+          "quiz",
+          session -> session.getWords().size(),
+          new QuizSessionCodec(wordFacade),
+          recordRepository,
+          properties,
+          clock,
+          meterRegistry);
+    }
+    return new InMemoryLearnSessionStore<>(
+        "quiz", properties, session -> session.getWords().size(), clock, meterRegistry);
+  }
+}
@@ -0,0 +1,180 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import com.example.quizlecikprojekt.entity.LearnSessionRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
+import lombok.extern.log4j.Log4j2;
+
+// Write-through in front of the learn_sessions table. The snapshot is stored once per session
+// and every later put only rewrites the small progress column. Nothing is loaded at startup:
+// a session missing from the heap is read back on its next request, so recovery after a
+// restart costs one lookup per session actually resumed. The table is the source of truth:
+// a heap copy is only used while its version matches the row, and a write based on an older
+// version is rejected, so replicas sharing the table never overwrite each other's progress.
+@Log4j2
+class PersistentLearnSessionStore<S> implements LearnSessionStore<S> {
+
+  private final String type;
+  private final LearnSessionStore<Versioned<S>> cache;
+  private final LearnSessionCodec<S> codec;
+  private final LearnSessionRecordRepository repository;
+  private final Duration idleTtl;
+  private final Clock clock;
+
+  private final Counter recovered;
+  private final Counter stale;
+
+  PersistentLearnSessionStore(
+      String type,
+      ToIntFunction<S> weigher,
+      LearnSessionCodec<S> codec,
+      LearnSessionRecordRepository repository,
+      LearnSessionProperties properties,
+      Clock clock,
+      MeterRegistry meterRegistry) {
+    this.type = type;
+    this.cache =
+        new InMemoryLearnSessionStore<>(
+            type,
+            properties,
+            versioned -> weigher.applyAsInt(versioned.session()),
+            clock,
+            meterRegistry);
+    this.codec = codec;
+    this.repository = repository;
+    this.idleTtl = properties.idleTtl();
+    this.clock = clock;
+
+    this.recovered =
+        Counter.builder("learn.sessions.recovered").tag("type", type).register(meterRegistry);
+    this.stale = Counter.builder("learn.sessions.stale").tag("type", type).register(meterRegistry);
+  }
+
+  @Override
+  public String put(String sessionId, S session) {
+    byte[] progress = encode(session, codec::writeProgress);
+    LocalDateTime now = LocalDateTime.now(clock);
+    LocalDateTime expiresAt = now.plus(idleTtl);
+
+    // The version this session was read at; only a brand-new session has no row yet
+    Optional<Long> version =
+        cache
+            .get(sessionId)
+            .map(Versioned::version)
+            .or(() -> repository.findActiveVersion(sessionId, type, now));
+
+    if (version.isEmpty()) {
+      LearnSessionRecord record = new LearnSessionRecord();
+      record.setSessionId(sessionId);
+      record.setType(type);
+      record.setSnapshot(encode(session, codec::writeSnapshot));
+      record.setProgress(progress);
+      record.setExpiresAt(expiresAt);
+      record.setVersion(0L);
+      repository.save(record);
+      return cache.put(sessionId, new Versioned<>(session, 0L));
+    }
+
+    if (repository.updateProgress(sessionId, type, version.get(), progress, expiresAt) == 0) {
+      cache.remove(sessionId);
+      stale.increment();
+      throw new IllegalArgumentException("Learn session was updated by another request");
+    }
+    return cache.put(sessionId, new Versioned<>(session, version.get() + 1));
+  }
+
+  // A heap copy costs one version lookup; the full row is only read when it is missing or behind
+  @Override
+  public Optional<S> get(String sessionId) {
+    LocalDateTime now = LocalDateTime.now(clock);
+    Optional<Versioned<S>> cached = cache.get(sessionId);
+
+    if (cached.isPresent()) {
+      Optional<Long> version = repository.findActiveVersion(sessionId, type, now);
+      if (version.isEmpty()) {
+        cache.remove(sessionId);
+        return Optional.empty();
+      }
+      if (version.get() == cached.get().version()) {
+        return Optional.of(cached.get().session());
+      }
+      stale.increment();
+    }
+
+    Optional<LearnSessionRecord> record = repository.findActive(sessionId, type, now);
+    Optional<S> stored = record.flatMap(r -> decode(sessionId, r));
+    if (stored.isEmpty()) {
+      cache.remove(sessionId);
+      return Optional.empty();
+    }
+
+    cache.put(sessionId, new Versioned<>(stored.get(), record.get().getVersion()));
+    if (cached.isEmpty()) {
+      recovered.increment();
+    }
+    return stored;
+  }
+
+  // Only the request that deletes the row ends the session, so an end replayed on any replica
+  // finds nothing
+  @Override
+  public Optional<S> remove(String sessionId) {
+    Optional<S> session = get(sessionId);
+    cache.remove(sessionId);
+    if (repository.deleteSession(sessionId, type) == 0) {
+      return Optional.empty();
+    }
+    return session;
+  }
+
+  @Override
+  public int evictExpired() {
+    return cache.evictExpired() + repository.deleteExpired(type, LocalDateTime.now(clock));
+  }
+
+  @Override
+  public int size() {
+    return cache.size();
+  }
+
+  private byte[] encode(S session, SessionWriter<S> writer) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      writer.write(session, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private Optional<S> decode(String sessionId, LearnSessionRecord record) {
+    try (DataInputStream snapshot =
+            new DataInputStream(new ByteArrayInputStream(record.getSnapshot()));
+        DataInputStream progress =
+            new DataInputStream(new ByteArrayInputStream(record.getProgress()))) {
+      return codec.read(sessionId, snapshot, progress);
+    } catch (IOException e) {
+      log.warn("Discarding unreadable {} session {}", type, sessionId, e);
+      return Optional.empty();
+    }
+  }
+
+  private record Versioned<S>(S session, long version) {}
+
+  @FunctionalInterface
+  private interface SessionWriter<S> {
+    void write(S session, DataOutput out) throws IOException;
+  }
+}
@@ -0,0 +1,58 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import com.example.quizlecikprojekt.domain.learn.dto.QuizSession;
+import com.example.quizlecikprojekt.domain.learn.dto.WordDeck;
+import com.example.quizlecikprojekt.domain.wordset.WordFacade;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+
+// Questions are not encoded; they are regenerated from the seed
+@AllArgsConstructor
+class QuizSessionCodec implements LearnSessionCodec<QuizSession> {
+
+  private final WordFacade wordFacade;
+
+  @Override
+  public void writeSnapshot(QuizSession session, DataOutput out) throws IOException {
+    out.writeLong(session.getWordSetId());
+    out.writeUTF(Objects.toString(session.getWordSetTitle(), ""));
+    LearnSessionCodec.writeTime(session.getStartedAt(), out);
+    out.writeLong(session.getUserId());
+    out.writeLong(session.getSeed());
+    LearnSessionCodec.writeDeck(session.getWords(), out);
+  }
+
+  @Override
+  public void writeProgress(QuizSession session, DataOutput out) throws IOException {
+    LearnSessionCodec.writeVarLong(session.getCurrentQuestionIndex(), out);
+    LearnSessionCodec.writeVarLong(session.getScore(), out);
+    LearnSessionCodec.writeBits(session.getIncorrectWords(), out);
+  }
+
+  @Override
+  public Optional<QuizSession> read(String sessionId, DataInput snapshot, DataInput progress)
+      throws IOException {
+    QuizSession session = new QuizSession();
+    session.setSessionId(sessionId);
+    session.setWordSetId(snapshot.readLong());
+    session.setWordSetTitle(snapshot.readUTF());
+    session.setStartedAt(LearnSessionCodec.readTime(snapshot));
+    session.setUserId(snapshot.readLong());
+    session.setSeed(snapshot.readLong());
+
+    Optional<WordDeck> words = LearnSessionCodec.readDeck(snapshot, wordFacade);
+    if (words.isEmpty()) {
+      return Optional.empty();
+    }
+    session.setWords(words.get());
+
+    session.setCurrentQuestionIndex((int) LearnSessionCodec.readVarLong(progress));
+    session.setScore((int) LearnSessionCodec.readVarLong(progress));
+    session.setIncorrectWords(LearnSessionCodec.readBits(progress));
+    return Optional.of(session);
+  }
+}
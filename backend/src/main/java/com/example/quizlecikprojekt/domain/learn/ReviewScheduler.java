@@ -0,0 +1,85 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import com.example.quizlecikprojekt.entity.Word;
+import com.example.quizlecikprojekt.entity.WordReview;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// SM-2 scheduling of per-user word reviews
+@Service
+@AllArgsConstructor
+class ReviewScheduler {
+
+  private static final double INITIAL_EASE = 2.5;
+  private static final double MIN_EASE = 1.3;
+  private static final int QUALITY_CORRECT = 4;
+  private static final int QUALITY_AGAIN = 1;
+  private static final int PASSING_QUALITY = 3;
+
+  private final WordReviewRepository wordReviewRepository;
+  private final Clock clock;
+
+  // Overdue cards first (most overdue at the head), then never reviewed words
+  @Transactional(readOnly = true)
+  public List<Word> nextDue(Long userId, Long wordSetId, int limit) {
+    List<Word> cards =
+        new ArrayList<>(
+            wordReviewRepository.findDueWords(
+                userId, wordSetId, LocalDateTime.now(clock), PageRequest.of(0, limit)));
+
+    if (cards.size() < limit) {
+      cards.addAll(
+          wordReviewRepository.findNewWords(
+              userId, wordSetId, PageRequest.of(0, limit - cards.size())));
+    }
+    return cards;
+  }
+
+  // The first answer creates the row, so two of them racing cannot both insert; the row lock
+  // then applies every answer on top of the previous one
+  @Transactional
+  public WordReview recordReview(Long userId, Long wordId, boolean correct) {
+    LocalDateTime now = LocalDateTime.now(clock);
+    wordReviewRepository.insertIfAbsent(userId, wordId, INITIAL_EASE, now);
+
+    WordReview review =
+        wordReviewRepository
+            .findForUpdate(userId, wordId)
+            .orElseThrow(() -> new EntityNotFoundException("Word not found with id: " + wordId));
+
+    schedule(review, correct ? QUALITY_CORRECT : QUALITY_AGAIN, now);
+    return review;
+  }
+
+  private static void schedule(WordReview review, int quality, LocalDateTime now) {
+    if (quality >= PASSING_QUALITY) {
+      int repetitions = review.getRepetitions();
+      int interval =
+          switch (repetitions) {
+            case 0 -> 1;
+            case 1 -> 6;
+            default -> (int) Math.round(review.getIntervalDays() * review.getEaseFactor());
+          };
+      review.setIntervalDays(interval);
+      review.setRepetitions(repetitions + 1);
+    } else {
+      review.setIntervalDays(1);
+      review.setRepetitions(0);
+      review.setLapses(review.getLapses() + 1);
+    }
+
+    int penalty = 5 - quality;
+    double ease = review.getEaseFactor() + (0.1 - penalty * (0.08 + penalty * 0.02));
+    review.setEaseFactor(Math.max(MIN_EASE, ease));
+
+    review.setLastReviewedAt(now);
+    review.setDueAt(now.plusDays(review.getIntervalDays()));
+  }
+}
@@ -0,0 +1,216 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// The session id handed to the client is the session itself, HMAC-signed, and every put issues
+// a new one. The only server-side state is the ids of tokens already answered or ended, so a
+// replayed token cannot score the same answer twice or complete a session again.
+class SignedTokenLearnSessionStore<S> implements LearnSessionStore<S> {
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final byte FORMAT_VERSION = 4;
+  private static final int TOKEN_ID_BYTES = 16;
+
+  private final String type;
+  private final LearnSessionCodec<S> codec;
+  private final ConsumedLearnTokenRepository consumedTokens;
+  private final SecretKeySpec key;
+  private final Duration idleTtl;
+  private final Clock clock;
+  private final SecureRandom random = new SecureRandom();
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter rejected;
+  private final Counter replayed;
+
+  SignedTokenLearnSessionStore(
+      String type,
+      LearnSessionCodec<S> codec,
+      ConsumedLearnTokenRepository consumedTokens,
+      LearnSessionProperties properties,
+      Clock clock,
+      MeterRegistry meterRegistry) {
+    if (properties.tokenSecret() == null || properties.tokenSecret().isBlank()) {
+      throw new IllegalStateException("learn.session.token-secret is required in stateless mode");
+    }
+    this.type = type;
+    this.codec = codec;
+    this.consumedTokens = consumedTokens;
+    this.key =
+        new SecretKeySpec(properties.tokenSecret().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    this.idleTtl = properties.idleTtl();
+    this.clock = clock;
+
+    this.hits = requests(meterRegistry, type, "hit");
+    this.misses = requests(meterRegistry, type, "miss");
+    this.rejected = requests(meterRegistry, type, "rejected");
+    this.replayed = requests(meterRegistry, type, "replayed");
+  }
+
+  // Saving an answer moves the session on, so the token it was read from is burned first; of
+  // two requests racing on one token only the first gets a new one
+  @Override
+  public String put(String sessionId, S session) {
+    Optional<Token> previous = parse(sessionId);
+    if (previous.isPresent() && !consume(previous.get())) {
+      replayed.increment();
+      throw new IllegalArgumentException("Learn session not found");
+    }
+
+    byte[] tokenId = new byte[TOKEN_ID_BYTES];
+    random.nextBytes(tokenId);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(FORMAT_VERSION);
+      out.write(tokenId);
+      out.writeLong(clock.instant().plus(idleTtl).getEpochSecond());
+      codec.writeSnapshot(session, out);
+      codec.writeProgress(session, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    byte[] body = bytes.toByteArray();
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    return encoder.encodeToString(body) + "." + encoder.encodeToString(sign(body));
+  }
+
+  @Override
+  public Optional<S> get(String sessionId) {
+    return parse(sessionId).flatMap(token -> read(sessionId, token));
+  }
+
+  @Override
+  public Optional<S> remove(String sessionId) {
+    Optional<Token> token = parse(sessionId);
+    Optional<S> session = token.flatMap(t -> read(sessionId, t));
+    if (session.isPresent() && !consume(token.get())) {
+      replayed.increment();
+      return Optional.empty();
+    }
+    return session;
+  }
+
+  // Both stores share the table, so whichever sweeps first deletes the expired ids of both
+  @Override
+  public int evictExpired() {
+    return consumedTokens.deleteExpired(LocalDateTime.now(clock));
+  }
+
+  @Override
+  public int size() {
+    return 0;
+  }
+
+  private Optional<S> read(String sessionId, Token token) {
+    if (token.expiresAt() < clock.instant().getEpochSecond()
+        || consumedTokens.existsById(token.id())) {
+      misses.increment();
+      return Optional.empty();
+    }
+
+    try {
+      Optional<S> session = codec.read(sessionId, token.session(), token.session());
+      (session.isPresent() ? hits : misses).increment();
+      return session;
+    } catch (IOException e) {
+      rejected.increment();
+      return Optional.empty();
+    }
+  }
+
+  private boolean consume(Token token) {
+    LocalDateTime expiresAt =
+        LocalDateTime.ofInstant(Instant.ofEpochSecond(token.expiresAt()), clock.getZone());
+    return consumedTokens.consume(token.id(), expiresAt) == 1;
+  }
+
+  // Ids freshly generated by the facade are not tokens and parse to empty without counting
+  private Optional<Token> parse(String sessionId) {
+    if (sessionId.indexOf('.') < 0) {
+      return Optional.empty();
+    }
+
+    Optional<byte[]> body = verify(sessionId);
+    if (body.isEmpty()) {
+      rejected.increment();
+      return Optional.empty();
+    }
+
+    try {
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(body.get()));
+      if (in.readByte() != FORMAT_VERSION) {
+        misses.increment();
+        return Optional.empty();
+      }
+      String tokenId =
+          Base64.getUrlEncoder().withoutPadding().encodeToString(in.readNBytes(TOKEN_ID_BYTES));
+      return Optional.of(new Token(tokenId, in.readLong(), in));
+    } catch (IOException e) {
+      rejected.increment();
+      return Optional.empty();
+    }
+  }
+
+  private Optional<byte[]> verify(String token) {
+    int separator = token.indexOf('.');
+    if (separator < 0) {
+      return Optional.empty();
+    }
+
+    try {
+      Base64.Decoder decoder = Base64.getUrlDecoder();
+      byte[] body = decoder.decode(token.substring(0, separator));
+      byte[] signature = decoder.decode(token.substring(separator + 1));
+      return MessageDigest.isEqual(signature, sign(body)) ? Optional.of(body) : Optional.empty();
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  // The session type is part of the signed input, so a quiz token is never accepted as a
+  // flashcard token
+  private byte[] sign(byte[] body) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      mac.update(type.getBytes(StandardCharsets.UTF_8));
+      mac.update((byte) 0);
+      // A 128-bit tag is plenty for a short-lived token and keeps the session id short
+      return Arrays.copyOf(mac.doFinal(body), 16);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Cannot sign learn session token", e);
+    }
+  }
+
+  private record Token(String id, long expiresAt, DataInputStream session) {}
+
+  private static Counter requests(MeterRegistry meterRegistry, String type, String result) {
+    return Counter.builder("learn.sessions.requests")
+        .tag("type", type)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
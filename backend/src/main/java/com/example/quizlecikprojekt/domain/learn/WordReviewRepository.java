@@ -0,0 +1,55 @@
+package com.example.quizlecikprojekt.domain.learn;
+
+import com.example.quizlecikprojekt.entity.Word;
+import com.example.quizlecikprojekt.entity.WordReview;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+interface WordReviewRepository extends JpaRepository<WordReview, Long> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM WordReview r WHERE r.user.id = :userId AND r.word.id = :wordId")
+  Optional<WordReview> findForUpdate(@Param("userId") Long userId, @Param("wordId") Long wordId);
+
+  // Concurrent first answers both succeed here, then queue up on the row lock
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO word_reviews (user_id, word_id, word_set_id, ease_factor, interval_days,"
+              + " repetitions, lapses, due_at)"
+              + " SELECT :userId, w.id, w.word_set_id, :easeFactor, 0, 0, 0, :dueAt"
+              + " FROM words w WHERE w.id = :wordId ON CONFLICT DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(
+      @Param("userId") Long userId,
+      @Param("wordId") Long wordId,
+      @Param("easeFactor") double easeFactor,
+      @Param("dueAt") LocalDateTime dueAt);
+
+  // Served from idx_word_reviews_due, so only the returned rows are read
+  @Query(
+      "SELECT r.word FROM WordReview r WHERE r.user.id = :userId AND r.wordSet.id = :wordSetId"
+          + " AND r.dueAt <= :now ORDER BY r.dueAt")
+  List<Word> findDueWords(
+      @Param("userId") Long userId,
+      @Param("wordSetId") Long wordSetId,
+      @Param("now") LocalDateTime now,
+      Pageable pageable);
+
+  @Query(
+      "SELECT w FROM Word w WHERE w.wordSet.id = :wordSetId AND NOT EXISTS"
+          + " (SELECT r.id FROM WordReview r WHERE r.word = w AND r.user.id = :userId)"
+          + " ORDER BY w.id")
+  List<Word> findNewWords(
+      @Param("userId") Long userId, @Param("wordSetId") Long wordSetId, Pageable pageable);
+}
@@ -1,35 +1,33 @@
 package com.example.quizlecikprojekt.domain.learn.dto;
 
-import com.example.quizlecikprojekt.entity.Word;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.BitSet;
 
 @Getter
 @Setter
 public class FlashcardSession {
   private String sessionId;
+  private Long userId;
   private Long wordSetId;
   private String wordSetTitle;
-  private List<Word> words;
+  private WordDeck words;
   private int currentIndex;
   private int score;
-  private List<Word> incorrectWords;
+  private BitSet incorrectWords;
   private LocalDateTime startedAt;
+  // Review sessions come from the scheduler and record every answer back to it
+  private boolean review;
 
 
   public void incrementScore() {
     this.score++;
   }
 
-  public void setIncorrectWords(List<Word> incorrectWords) {
-    this.incorrectWords = incorrectWords;
-  }
-
-  public void addIncorrectWord(Word word) {
-    this.incorrectWords.add(word);
+  public void addIncorrectWord(int wordIndex) {
+    this.incorrectWords.set(wordIndex);
   }
 
 }
@@ -1,30 +1,37 @@
 package com.example.quizlecikprojekt.domain.learn.dto;
 
-import com.example.quizlecikprojekt.entity.Word;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.BitSet;
 
 @Getter
 @Setter
 public class QuizSession {
   private String sessionId;
+  private Long userId;
   private Long wordSetId;
   private String wordSetTitle;
-  private List<QuizQuestion> questions;
+  private WordDeck words;
+  // Questions are generated on demand from the seed; only the current one is kept
+  private long seed;
+  private QuizQuestion currentQuestion;
   private int currentQuestionIndex;
   private int score;
-  private List<Word> incorrectWords;
+  private BitSet incorrectWords;
   private LocalDateTime startedAt;
 
+  public int getQuestionCount() {
+    return words.size();
+  }
+
   public void incrementScore() {
     this.score++;
   }
 
-  public void addIncorrectWord(Word word) {
-    this.incorrectWords.add(word);
+  public void addIncorrectWord(int wordIndex) {
+    this.incorrectWords.set(wordIndex);
   }
 
 }
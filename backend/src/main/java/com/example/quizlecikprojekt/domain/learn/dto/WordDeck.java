@@ -0,0 +1,61 @@
+package com.example.quizlecikprojekt.domain.learn.dto;
+
+import com.example.quizlecikprojekt.entity.Word;
+import java.util.List;
+
+public final class WordDeck {
+
+  private final long[] ids;
+  private final String[] words;
+  private final String[] translations;
+  private final int[] points;
+
+  private WordDeck(long[] ids, String[] words, String[] translations, int[] points) {
+    this.ids = ids;
+    this.words = words;
+    this.translations = translations;
+    this.points = points;
+  }
+
+  public static WordDeck of(List<Word> source) {
+    int size = source.size();
+    long[] ids = new long[size];
+    String[] words = new String[size];
+    String[] translations = new String[size];
+    int[] points = new int[size];
+
+    for (int i = 0; i < size; i++) {
+      Word word = source.get(i);
+      ids[i] = word.getId();
+      words[i] = word.getWord();
+      translations[i] = word.getTranslation();
+      points[i] = word.getPoints() != null ? word.getPoints() : 0;
+    }
+
+    return new WordDeck(ids, words, translations, points);
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  public boolean isEmpty() {
+    return ids.length == 0;
+  }
+
+  public long id(int index) {
+    return ids[index];
+  }
+
+  public String word(int index) {
+    return words[index];
+  }
+
+  public String translation(int index) {
+    return translations[index];
+  }
+
+  public int points(int index) {
+    return points[index];
+  }
+}
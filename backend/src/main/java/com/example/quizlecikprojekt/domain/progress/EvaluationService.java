@@ -5,12 +5,15 @@ import com.example.quizlecikprojekt.domain.progress.dto.EvaluationResponse;
 import com.example.quizlecikprojekt.domain.progress.dto.ResourceEvaluationSummary;
 import com.example.quizlecikprojekt.domain.video.VideoFacade;
 import com.example.quizlecikprojekt.entity.ResourceEvaluation;
+import com.example.quizlecikprojekt.entity.ResourceEvaluationStats;
 import com.example.quizlecikprojekt.entity.User;
 import com.example.quizlecikprojekt.entity.Video;
 import com.example.quizlecikprojekt.entity.WordSet;
 import com.example.quizlecikprojekt.domain.wordset.WordSetFacade;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -22,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 class EvaluationService {
 
   private final ResourceEvaluationRepository evaluationRepository;
+  private final EvaluationStatsRepository statsRepository;
   private final WordSetFacade wordSetFacade;
   private final VideoFacade videoFacade;
 
@@ -35,32 +39,37 @@ class EvaluationService {
     }
 
     ResourceEvaluation evaluation;
+    EvaluationTotals before;
 
     if (request.wordSetId() != null) {
       // Evaluate word set
       WordSet wordSet = wordSetFacade.getWordSetById(request.wordSetId());
       Optional<ResourceEvaluation> existing =
-          evaluationRepository.findByUserIdAndWordSetId(user.getId(), request.wordSetId());
+          evaluationRepository.findForUpdateByUserIdAndWordSetId(user.getId(), request.wordSetId());
 
       if (existing.isPresent()) {
         evaluation = existing.get();
+        before = EvaluationTotals.of(evaluation);
       } else {
         evaluation = new ResourceEvaluation();
         evaluation.setUser(user);
         evaluation.setWordSet(wordSet);
+        before = EvaluationTotals.NONE;
       }
     } else {
       // Evaluate video
       Video video = videoFacade.findById(request.videoId());
       Optional<ResourceEvaluation> existing =
-          evaluationRepository.findByUserIdAndVideoId(user.getId(), request.videoId());
+          evaluationRepository.findForUpdateByUserIdAndVideoId(user.getId(), request.videoId());
 
       if (existing.isPresent()) {
         evaluation = existing.get();
+        before = EvaluationTotals.of(evaluation);
       } else {
         evaluation = new ResourceEvaluation();
         evaluation.setUser(user);
         evaluation.setVideo(video);
+        before = EvaluationTotals.NONE;
       }
     }
 
@@ -82,7 +91,9 @@ class EvaluationService {
       }
     }
 
-    return evaluationRepository.save(evaluation);
+    ResourceEvaluation saved = evaluationRepository.save(evaluation);
+    applyToStats(request.wordSetId(), request.videoId(), EvaluationTotals.of(saved).minus(before));
+    return saved;
   }
 
   public List<EvaluationResponse> getUserEvaluations(User user) {
@@ -94,80 +105,22 @@ class EvaluationService {
 
   public ResourceEvaluationSummary getWordSetEvaluationSummary(Long wordSetId) {
     WordSet wordSet = wordSetFacade.getWordSetById(wordSetId);
-    List<ResourceEvaluation> evaluations =
-        evaluationRepository.findByWordSetIdOrderByCreatedAtDesc(wordSetId);
-
-    if (evaluations.isEmpty()) {
-      return new ResourceEvaluationSummary(
-          "wordset", wordSetId, wordSet.getTitle(), 0.0, 0.0, 0, null, 0.0, List.of());
-    }
-
-    Double averageRating = evaluationRepository.getAverageRatingForWordSet(wordSetId);
-    Double averageUsefulness = evaluationRepository.getAverageUsefulnessForWordSet(wordSetId);
-    Long recommendationCount = evaluationRepository.getRecommendationCountForWordSet(wordSetId);
-    Long totalEvaluations = evaluationRepository.getTotalEvaluationsForWordSet(wordSetId);
-
-    double recommendationPercentage =
-        totalEvaluations > 0 ? (double) recommendationCount / totalEvaluations * 100.0 : 0.0;
-
-    List<EvaluationResponse> recentEvaluations =
-        evaluations.stream()
-            .limit(5)
-            .map(this::mapToEvaluationResponse)
-            .collect(Collectors.toList());
-
-    return new ResourceEvaluationSummary(
+    return summarize(
         "wordset",
         wordSetId,
         wordSet.getTitle(),
-        averageRating != null ? averageRating : 0.0,
-        averageUsefulness != null ? averageUsefulness : 0.0,
-        totalEvaluations.intValue(),
-        getMostCommonDifficulty(wordSetId),
-        recommendationPercentage,
-        recentEvaluations);
+        statsRepository.findByWordSetId(wordSetId),
+        () -> evaluationRepository.findTop5ByWordSetIdOrderByCreatedAtDesc(wordSetId));
   }
 
   public ResourceEvaluationSummary getVideoEvaluationSummary(Long videoId) {
     Video video = videoFacade.findById(videoId);
-    List<ResourceEvaluation> evaluations =
-        evaluationRepository.findByVideoIdOrderByCreatedAtDesc(videoId);
-
-    if (evaluations.isEmpty()) {
-      return new ResourceEvaluationSummary(
-          "video", videoId, video.getTitle(), 0.0, 0.0, 0, null, 0.0, List.of());
-    }
-
-    Double averageRating = evaluationRepository.getAverageRatingForVideo(videoId);
-
-    double averageUsefulness =
-        evaluations.stream()
-            .mapToInt(ResourceEvaluation::getUsefulnessRating)
-            .average()
-            .orElse(0.0);
-
-    long recommendationCount =
-        evaluations.stream().mapToLong(e -> e.getWouldRecommend() ? 1 : 0).sum();
-
-    double recommendationPercentage =
-            !evaluations.isEmpty() ? (double) recommendationCount / evaluations.size() * 100.0 : 0.0;
-
-    List<EvaluationResponse> recentEvaluations =
-        evaluations.stream()
-            .limit(5)
-            .map(this::mapToEvaluationResponse)
-            .collect(Collectors.toList());
-
-    return new ResourceEvaluationSummary(
+    return summarize(
         "video",
         videoId,
         video.getTitle(),
-        averageRating != null ? averageRating : 0.0,
-        averageUsefulness,
-        evaluations.size(),
-        getMostCommonDifficultyForVideo(evaluations),
-        recommendationPercentage,
-        recentEvaluations);
+        statsRepository.findByVideoId(videoId),
+        () -> evaluationRepository.findTop5ByVideoIdOrderByCreatedAtDesc(videoId));
   }
 
   public List<EvaluationResponse> getHighlyRatedResources() {
@@ -210,28 +163,77 @@ class EvaluationService {
         evaluation.getCreatedAt());
   }
 
-  private ResourceEvaluation.DifficultyLevel getMostCommonDifficulty(Long wordSetId) {
-    List<Object[]> distribution =
-        evaluationRepository.getDifficultyDistributionForWordSet(wordSetId);
+  private ResourceEvaluationSummary summarize(
+      String resourceType,
+      Long resourceId,
+      String title,
+      Optional<ResourceEvaluationStats> stats,
+      Supplier<List<ResourceEvaluation>> recent) {
+    if (stats.isEmpty() || stats.get().getEvaluations() == 0) {
+      return new ResourceEvaluationSummary(
+          resourceType, resourceId, title, 0.0, 0.0, 0, null, 0.0, List.of());
+    }
+
+    ResourceEvaluationStats totals = stats.get();
+    double count = totals.getEvaluations();
+    List<EvaluationResponse> recentEvaluations =
+        recent.get().stream().map(this::mapToEvaluationResponse).collect(Collectors.toList());
+
+    return new ResourceEvaluationSummary(
+        resourceType,
+        resourceId,
+        title,
+        totals.getRatingSum() / count,
+        totals.getUsefulnessSum() / count,
+        totals.getEvaluations(),
+        getMostCommonDifficulty(totals),
+        totals.getRecommendations() / count * 100.0,
+        recentEvaluations);
+  }
 
-    if (!distribution.isEmpty()) {
-      return (ResourceEvaluation.DifficultyLevel) distribution.get(0)[0];
+  // Ties go to the easier level
+  private ResourceEvaluation.DifficultyLevel getMostCommonDifficulty(
+      ResourceEvaluationStats stats) {
+    Map<ResourceEvaluation.DifficultyLevel, Integer> histogram =
+        Map.of(
+            ResourceEvaluation.DifficultyLevel.BEGINNER, stats.getBeginner(),
+            ResourceEvaluation.DifficultyLevel.INTERMEDIATE, stats.getIntermediate(),
+            ResourceEvaluation.DifficultyLevel.ADVANCED, stats.getAdvanced(),
+            ResourceEvaluation.DifficultyLevel.EXPERT, stats.getExpert());
+
+    ResourceEvaluation.DifficultyLevel mostCommon = null;
+    for (ResourceEvaluation.DifficultyLevel level : ResourceEvaluation.DifficultyLevel.values()) {
+      int count = histogram.get(level);
+      if (count > 0 && (mostCommon == null || count > histogram.get(mostCommon))) {
+        mostCommon = level;
+      }
     }
+    return mostCommon;
+  }
 
-    return null;
+  private void applyToStats(Long wordSetId, Long videoId, EvaluationTotals delta) {
+    if (delta.isZero()) {
+      return;
+    }
+    // Every resource's first evaluation creates the row, later ones only update it
+    if (incrementStats(wordSetId, videoId, delta) == 0) {
+      statsRepository.insertIfAbsent(wordSetId, videoId);
+      incrementStats(wordSetId, videoId, delta);
+    }
   }
 
-  private ResourceEvaluation.DifficultyLevel getMostCommonDifficultyForVideo(
-      List<ResourceEvaluation> evaluations) {
-    return evaluations.stream()
-        .filter(e -> e.getDifficultyLevel() != null)
-        .collect(
-            Collectors.groupingBy(ResourceEvaluation::getDifficultyLevel, Collectors.counting()))
-        .entrySet()
-        .stream()
-        .max(java.util.Map.Entry.comparingByValue())
-        .map(java.util.Map.Entry::getKey)
-        .orElse(null);
+  private int incrementStats(Long wordSetId, Long videoId, EvaluationTotals delta) {
+    return statsRepository.increment(
+        wordSetId,
+        videoId,
+        delta.evaluations(),
+        delta.ratingSum(),
+        delta.usefulnessSum(),
+        delta.recommendations(),
+        delta.beginner(),
+        delta.intermediate(),
+        delta.advanced(),
+        delta.expert());
   }
 
   public Optional<ResourceEvaluation> getUserEvaluationForVideo(User user, Long videoId) {
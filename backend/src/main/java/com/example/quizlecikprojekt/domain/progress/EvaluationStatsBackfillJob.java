@@ -0,0 +1,28 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// One-off rebuild of resource_evaluation_stats from the evaluations. Enable for a single start
+// with progress.evaluations.backfill=true.
+@Log4j2
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "progress.evaluations.backfill", havingValue = "true")
+class EvaluationStatsBackfillJob implements ApplicationRunner {
+
+  private final EvaluationStatsRepository statsRepository;
+
+  @Override
+  @Transactional
+  public void run(ApplicationArguments args) {
+    statsRepository.deleteAllRows();
+    int rows = statsRepository.insertFromEvaluations();
+    log.info("Evaluation stats backfill finished, {} resources written", rows);
+  }
+}
@@ -0,0 +1,72 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import com.example.quizlecikprojekt.entity.ResourceEvaluationStats;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+interface EvaluationStatsRepository extends JpaRepository<ResourceEvaluationStats, Long> {
+
+  Optional<ResourceEvaluationStats> findByWordSetId(Long wordSetId);
+
+  Optional<ResourceEvaluationStats> findByVideoId(Long videoId);
+
+  // Exactly one of wordSetId and videoId is set
+  @Modifying
+  @Query(
+      "UPDATE ResourceEvaluationStats s SET"
+          + " s.evaluations = s.evaluations + :evaluations,"
+          + " s.ratingSum = s.ratingSum + :ratingSum,"
+          + " s.usefulnessSum = s.usefulnessSum + :usefulnessSum,"
+          + " s.recommendations = s.recommendations + :recommendations,"
+          + " s.beginner = s.beginner + :beginner,"
+          + " s.intermediate = s.intermediate + :intermediate,"
+          + " s.advanced = s.advanced + :advanced,"
+          + " s.expert = s.expert + :expert"
+          + " WHERE s.wordSet.id = :wordSetId OR s.video.id = :videoId")
+  int increment(
+      @Param("wordSetId") Long wordSetId,
+      @Param("videoId") Long videoId,
+      @Param("evaluations") int evaluations,
+      @Param("ratingSum") long ratingSum,
+      @Param("usefulnessSum") long usefulnessSum,
+      @Param("recommendations") int recommendations,
+      @Param("beginner") int beginner,
+      @Param("intermediate") int intermediate,
+      @Param("advanced") int advanced,
+      @Param("expert") int expert);
+
+  // Creates the resource's empty row; a concurrent first evaluation may already have done so
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO resource_evaluation_stats (word_set_id, video_id, evaluations, rating_sum,"
+              + " usefulness_sum, recommendations, beginner, intermediate, advanced, expert)"
+              + " VALUES (:wordSetId, :videoId, 0, 0, 0, 0, 0, 0, 0, 0) ON CONFLICT DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(@Param("wordSetId") Long wordSetId, @Param("videoId") Long videoId);
+
+  @Modifying
+  @Query(value = "DELETE FROM resource_evaluation_stats", nativeQuery = true)
+  int deleteAllRows();
+
+  // Recomputes every stats row from the evaluations in one statement
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO resource_evaluation_stats (word_set_id, video_id, evaluations, rating_sum,"
+              + " usefulness_sum, recommendations, beginner, intermediate, advanced, expert)"
+              + " SELECT word_set_id, video_id, COUNT(*), SUM(rating), SUM(usefulness_rating),"
+              + " SUM(CASE WHEN would_recommend THEN 1 ELSE 0 END),"
+              + " SUM(CASE WHEN difficulty_level = 'BEGINNER' THEN 1 ELSE 0 END),"
+              + " SUM(CASE WHEN difficulty_level = 'INTERMEDIATE' THEN 1 ELSE 0 END),"
+              + " SUM(CASE WHEN difficulty_level = 'ADVANCED' THEN 1 ELSE 0 END),"
+              + " SUM(CASE WHEN difficulty_level = 'EXPERT' THEN 1 ELSE 0 END)"
+              + " FROM resource_evaluations GROUP BY word_set_id, video_id",
+      nativeQuery = true)
+  int insertFromEvaluations();
+}
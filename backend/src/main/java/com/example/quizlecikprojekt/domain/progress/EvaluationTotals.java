@@ -0,0 +1,48 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import com.example.quizlecikprojekt.entity.ResourceEvaluation;
+import com.example.quizlecikprojekt.entity.ResourceEvaluation.DifficultyLevel;
+
+// What one evaluation contributes to its resource's stats row; an edit applies the difference
+// between the evaluation after and before it
+record EvaluationTotals(
+    int evaluations,
+    int ratingSum,
+    int usefulnessSum,
+    int recommendations,
+    int beginner,
+    int intermediate,
+    int advanced,
+    int expert) {
+
+  static final EvaluationTotals NONE = new EvaluationTotals(0, 0, 0, 0, 0, 0, 0, 0);
+
+  static EvaluationTotals of(ResourceEvaluation evaluation) {
+    DifficultyLevel difficulty = evaluation.getDifficultyLevel();
+    return new EvaluationTotals(
+        1,
+        evaluation.getRating(),
+        evaluation.getUsefulnessRating(),
+        Boolean.TRUE.equals(evaluation.getWouldRecommend()) ? 1 : 0,
+        difficulty == DifficultyLevel.BEGINNER ? 1 : 0,
+        difficulty == DifficultyLevel.INTERMEDIATE ? 1 : 0,
+        difficulty == DifficultyLevel.ADVANCED ? 1 : 0,
+        difficulty == DifficultyLevel.EXPERT ? 1 : 0);
+  }
+
+  EvaluationTotals minus(EvaluationTotals other) {
+    return new EvaluationTotals(
+        evaluations - other.evaluations,
+        ratingSum - other.ratingSum,
+        usefulnessSum - other.usefulnessSum,
+        recommendations - other.recommendations,
+        beginner - other.beginner,
+        intermediate - other.intermediate,
+        advanced - other.advanced,
+        expert - other.expert);
+  }
+
+  boolean isZero() {
+    return equals(NONE);
+  }
+}
@@ -0,0 +1,4 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+// Result of ProgressRepository.countStudyDaysByHour
+record HourCount(Integer hour, Long studyDays) {}
@@ -0,0 +1,206 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import com.example.quizlecikprojekt.domain.learn.LearnSessionCompleted;
+import com.example.quizlecikprojekt.domain.progress.dto.RecordStudySessionRequest;
+import com.example.quizlecikprojekt.domain.user.UserFacade;
+import com.example.quizlecikprojekt.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Records progress for finished learn sessions in batches, one progress write per user and day.
+// Every user and day is its own transaction, so one failing group never takes the others down:
+// database errors are retried on the next flushes, anything else drops only that group's events.
+@Log4j2
+@Component
+class LearnSessionProgressRecorder {
+
+  // About a minute of retries at the default flush interval
+  private static final int MAX_ATTEMPTS = 12;
+
+  private final ProgressService progressService;
+  private final UserFacade userFacade;
+  private final TransactionTemplate transactionTemplate;
+  private final StudyCalendar studyCalendar;
+
+  private final LinkedBlockingQueue<Pending> pending = new LinkedBlockingQueue<>();
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  private final Counter recordedSessions;
+  private final Counter failedFlushes;
+  private final Counter droppedSessions;
+
+  LearnSessionProgressRecorder(
+      ProgressService progressService,
+      UserFacade userFacade,
+      TransactionTemplate transactionTemplate,
+      StudyCalendar studyCalendar,
+      MeterRegistry meterRegistry) {
+    this.progressService = progressService;
+    this.userFacade = userFacade;
+    this.transactionTemplate = transactionTemplate;
+    this.studyCalendar = studyCalendar;
+
+    this.recordedSessions = Counter.builder("progress.sessions.recorded").register(meterRegistry);
+    this.failedFlushes =
+        Counter.builder("progress.sessions.flush.failures").register(meterRegistry);
+    this.droppedSessions =
+        Counter.builder("progress.sessions.dropped").register(meterRegistry);
+    Gauge.builder("progress.sessions.pending", pending, LinkedBlockingQueue::size)
+        .register(meterRegistry);
+  }
+
+  @EventListener
+  void onLearnSessionCompleted(LearnSessionCompleted event) {
+    pending.add(new Pending(event, 0));
+  }
+
+  @Scheduled(
+      fixedDelayString = "${progress.recording.flush-interval}",
+      initialDelayString = "${progress.recording.flush-interval}")
+  void scheduledFlush() {
+    flush();
+  }
+
+  int flush() {
+    flushLock.lock();
+    try {
+      List<Pending> batch = new ArrayList<>();
+      pending.drainTo(batch);
+      if (batch.isEmpty()) {
+        return 0;
+      }
+
+      Map<Long, List<Pending>> byUser = new LinkedHashMap<>();
+      for (Pending entry : batch) {
+        byUser.computeIfAbsent(entry.event().userId(), id -> new ArrayList<>()).add(entry);
+      }
+
+      Map<Long, User> users = new HashMap<>();
+      Map<DayKey, DayTotals> groups = new LinkedHashMap<>();
+      byUser.forEach(
+          (userId, entries) -> {
+            User user;
+            try {
+              user = userFacade.getUserById(userId);
+            } catch (RuntimeException e) {
+              failed(entries, e);
+              return;
+            }
+            users.put(userId, user);
+            for (Pending entry : entries) {
+              DayKey key =
+                  new DayKey(userId, studyCalendar.studyDate(user, entry.event().completedAt()));
+              groups.computeIfAbsent(key, k -> new DayTotals()).add(entry);
+            }
+          });
+
+      int recorded = 0;
+      for (Map.Entry<DayKey, DayTotals> group : groups.entrySet()) {
+        DayKey key = group.getKey();
+        DayTotals totals = group.getValue();
+        try {
+          transactionTemplate.executeWithoutResult(
+              status ->
+                  progressService.recordStudySession(
+                      users.get(key.userId()), key.studyDate(), totals.toRequest()));
+          recorded += totals.entries.size();
+        } catch (RuntimeException e) {
+          failed(totals.entries, e);
+        }
+      }
+
+      recordedSessions.increment(recorded);
+      return recorded;
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  // Database trouble is usually transient and retried a bounded number of times; a missing user
+  // or word set never heals, so those sessions are dropped at once. Dropped events are logged in
+  // full so they can be replayed by hand.
+  private void failed(List<Pending> entries, RuntimeException e) {
+    failedFlushes.increment();
+    boolean retryable = e instanceof DataAccessException || e instanceof TransactionException;
+
+    List<LearnSessionCompleted> dropped = new ArrayList<>();
+    for (Pending entry : entries) {
+      if (retryable && entry.attempts() + 1 < MAX_ATTEMPTS) {
+        pending.add(new Pending(entry.event(), entry.attempts() + 1));
+      } else {
+        dropped.add(entry.event());
+      }
+    }
+
+    if (dropped.isEmpty()) {
+      log.warn("Failed to record progress for {} sessions, re-queueing", entries.size(), e);
+      return;
+    }
+    droppedSessions.increment(dropped.size());
+    log.error("Dropping progress for {} sessions: {}", dropped.size(), dropped, e);
+  }
+
+  @PreDestroy
+  void flushOnShutdown() {
+    flush();
+  }
+
+  private record Pending(LearnSessionCompleted event, int attempts) {}
+
+  private record DayKey(Long userId, LocalDate studyDate) {}
+
+  private static final class DayTotals {
+    private final List<Pending> entries = new ArrayList<>();
+    private LearnSessionCompleted earliest;
+    private int answered;
+    private int correct;
+    private int incorrect;
+    private int flashcards;
+    private int quizzes;
+    private int minutes;
+
+    private void add(Pending entry) {
+      entries.add(entry);
+      LearnSessionCompleted event = entry.event();
+      if (earliest == null || event.completedAt().isBefore(earliest.completedAt())) {
+        earliest = event;
+      }
+      answered += event.answered();
+      correct += event.correctAnswers();
+      incorrect += event.incorrectAnswers();
+      if ("quiz".equals(event.sessionType())) {
+        quizzes++;
+      } else {
+        flashcards++;
+      }
+      // Every finished session counts as at least a minute of study
+      long seconds = Duration.between(event.startedAt(), event.completedAt()).toSeconds();
+      minutes += (int) Math.max(1, (seconds + 59) / 60);
+    }
+
+    // The day's row keeps the word set it was created with and later sessions only add to it,
+    // so the batch passes the set of the day's earliest session, as recording one by one would
+    private RecordStudySessionRequest toRequest() {
+      return new RecordStudySessionRequest(
+          earliest.wordSetId(), answered, correct, incorrect, flashcards, quizzes, minutes, null);
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(value = "progress.cache")
+public record ProgressCacheProperties(int maxEntries, Duration ttl) {}
@@ -0,0 +1,12 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import java.time.LocalDate;
+
+// What a single recordStudySession call added, plus the user's streak as of studyDate
+public record ProgressRecordedEvent(
+    Long userId,
+    LocalDate studyDate,
+    int wordsStudied,
+    int correctAnswers,
+    int incorrectAnswers,
+    int currentStreak) {}
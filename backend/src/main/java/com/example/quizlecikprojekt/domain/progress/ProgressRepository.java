@@ -1,11 +1,13 @@
 package com.example.quizlecikprojekt.domain.progress;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import com.example.quizlecikprojekt.entity.Progress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,28 +17,116 @@ interface ProgressRepository extends JpaRepository<Progress, Long> {
 
   Optional<Progress> findByUserIdAndStudyDate(Long userId, LocalDate studyDate);
 
-  List<Progress> findByUserIdOrderByStudyDateDesc(Long userId);
+  // Adds to the day's row in place; accuracy is derived from the incremented answer counts
+  @Modifying
+  @Query(
+      "UPDATE Progress p SET"
+          + " p.totalWordsStudied = p.totalWordsStudied + :words,"
+          + " p.correctAnswers = p.correctAnswers + :correct,"
+          + " p.incorrectAnswers = p.incorrectAnswers + :incorrect,"
+          + " p.flashcardsCompleted = p.flashcardsCompleted + :flashcards,"
+          + " p.quizzesCompleted = p.quizzesCompleted + :quizzes,"
+          + " p.studyTimeMinutes = p.studyTimeMinutes + :minutes,"
+          + " p.streakCount = :streak,"
+          + " p.accuracyPercentage = CASE"
+          + "   WHEN p.correctAnswers + p.incorrectAnswers + :correct + :incorrect > 0"
+          + "   THEN (p.correctAnswers + :correct) * 100.0"
+          + "     / (p.correctAnswers + p.incorrectAnswers + :correct + :incorrect)"
+          + "   ELSE 0.0 END,"
+          + " p.updatedAt = :now"
+          + " WHERE p.user.id = :userId AND p.studyDate = :studyDate")
+  int increment(
+      @Param("userId") Long userId,
+      @Param("studyDate") LocalDate studyDate,
+      @Param("words") int words,
+      @Param("correct") int correct,
+      @Param("incorrect") int incorrect,
+      @Param("flashcards") int flashcards,
+      @Param("quizzes") int quizzes,
+      @Param("minutes") int minutes,
+      @Param("streak") int streak,
+      @Param("now") LocalDateTime now);
+
+  // Returns 0 when the day's row already exists, in which case the caller increments it instead
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO progress (user_id, word_set_id, study_date, total_words_studied,"
+              + " correct_answers, incorrect_answers, flashcards_completed, quizzes_completed,"
+              + " study_time_minutes, streak_count, accuracy_percentage, created_at, updated_at)"
+              + " VALUES (:userId, :wordSetId, :studyDate, :words, :correct, :incorrect,"
+              + " :flashcards, :quizzes, :minutes, :streak,"
+              + " CASE WHEN :correct + :incorrect > 0"
+              + "   THEN CAST(:correct AS DOUBLE PRECISION) * 100 / (:correct + :incorrect)"
+              + "   ELSE 0 END,"
+              + " :now, :now)"
+              + " ON CONFLICT DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(
+      @Param("userId") Long userId,
+      @Param("wordSetId") Long wordSetId,
+      @Param("studyDate") LocalDate studyDate,
+      @Param("words") int words,
+      @Param("correct") int correct,
+      @Param("incorrect") int incorrect,
+      @Param("flashcards") int flashcards,
+      @Param("quizzes") int quizzes,
+      @Param("minutes") int minutes,
+      @Param("streak") int streak,
+      @Param("now") LocalDateTime now);
 
-  List<Progress> findByUserIdAndStudyDateBetweenOrderByStudyDateDesc(
-      Long userId, LocalDate startDate, LocalDate endDate);
+  List<Progress> findByUserId(Long userId);
 
   @Query(
       "SELECT p FROM Progress p WHERE p.user.id = :userId AND p.studyDate >= :startDate ORDER BY p.studyDate DESC")
   List<Progress> findRecentProgressByUserId(
       @Param("userId") Long userId, @Param("startDate") LocalDate startDate);
 
-  @Query("SELECT SUM(p.totalWordsStudied) FROM Progress p WHERE p.user.id = :userId")
-  Long getTotalWordsStudiedByUserId(@Param("userId") Long userId);
+  @Query("SELECT DISTINCT p.studyDate FROM Progress p WHERE p.user.id = :userId")
+  List<LocalDate> findStudyDatesByUserId(@Param("userId") Long userId);
 
-  @Query("SELECT SUM(p.studyTimeMinutes) FROM Progress p WHERE p.user.id = :userId")
-  Long getTotalStudyTimeByUserId(@Param("userId") Long userId);
+  @Query("SELECT DISTINCT p.user.id FROM Progress p")
+  List<Long> findUserIdsWithProgress();
 
-  @Query("SELECT AVG(p.accuracyPercentage) FROM Progress p WHERE p.user.id = :userId")
-  Double getAverageAccuracyByUserId(@Param("userId") Long userId);
+  // Every scalar of the progress summary in one round trip, with the streak row joined in
+  @Query(
+      "SELECT new com.example.quizlecikprojekt.domain.progress.ProgressTotals("
+          + " SUM(p.totalWordsStudied), SUM(p.studyTimeMinutes), AVG(p.accuracyPercentage),"
+          + " MAX(p.studyDate), s.currentStreak, s.longestStreak, s.lastStudyDate)"
+          + " FROM Progress p LEFT JOIN UserStreak s ON s.userId = p.user.id"
+          + " WHERE p.user.id = :userId"
+          + " GROUP BY s.currentStreak, s.longestStreak, s.lastStudyDate")
+  Optional<ProgressTotals> findTotalsByUserId(@Param("userId") Long userId);
+
+  // 1 = Sunday through 7 = Saturday; ties go to the weekday with more words studied
+  @Query(
+      "SELECT EXTRACT(DAY OF WEEK FROM p.studyDate) AS weekday FROM Progress p"
+          + " WHERE p.user.id = :userId"
+          + " GROUP BY weekday"
+          + " ORDER BY COUNT(p) DESC, SUM(p.totalWordsStudied) DESC, weekday"
+          + " LIMIT 1")
+  Optional<Integer> findMostActiveDayOfWeek(@Param("userId") Long userId);
+
+  // Study days per hour (in the clock's zone) at which the day's first session was recorded; at
+  // most 24 rows, bucketed into the user's local time of day by the caller
+  @Query(
+      "SELECT new com.example.quizlecikprojekt.domain.progress.HourCount("
+          + " EXTRACT(HOUR FROM p.createdAt), COUNT(p))"
+          + " FROM Progress p WHERE p.user.id = :userId"
+          + " GROUP BY EXTRACT(HOUR FROM p.createdAt)")
+  List<HourCount> countStudyDaysByHour(@Param("userId") Long userId);
+
+  @Query(
+      "SELECT new com.example.quizlecikprojekt.domain.progress.WordSetTotals("
+          + " ws.id, ws.title, COUNT(p), SUM(p.totalWordsStudied), AVG(p.accuracyPercentage),"
+          + " SUM(p.studyTimeMinutes), MAX(p.updatedAt))"
+          + " FROM Progress p JOIN p.wordSet ws"
+          + " WHERE p.user.id = :userId"
+          + " GROUP BY ws.id, ws.title"
+          + " ORDER BY SUM(p.totalWordsStudied) DESC, ws.id"
+          + " LIMIT 1")
+  Optional<WordSetTotals> findMostStudiedWordSet(@Param("userId") Long userId);
 
   @Query("SELECT COUNT(DISTINCT p.studyDate) FROM Progress p WHERE p.user.id = :userId")
   Long getTotalStudyDaysByUserId(@Param("userId") Long userId);
-
-  @Query("SELECT p FROM Progress p WHERE p.user.id = :userId ORDER BY p.studyDate DESC LIMIT 1")
-  Optional<Progress> findLastStudyDateByUserId(@Param("userId") Long userId);
 }
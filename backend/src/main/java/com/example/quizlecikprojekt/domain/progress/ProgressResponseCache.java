@@ -0,0 +1,131 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import com.example.quizlecikprojekt.config.cache.ResettableCache;
+import com.example.quizlecikprojekt.domain.progress.dto.ProgressStatsResponse;
+import com.example.quizlecikprojekt.domain.progress.dto.ProgressSummaryResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Per-user dashboard responses; the data behind them changes only when the user records progress
+@Component
+class ProgressResponseCache implements ResettableCache {
+
+  private final Region<ProgressSummaryResponse> summaries;
+  private final Region<ProgressStatsResponse> stats;
+
+  ProgressResponseCache(
+      ProgressCacheProperties properties, Clock clock, MeterRegistry meterRegistry) {
+    this.summaries = new Region<>("summary", properties, clock, meterRegistry);
+    this.stats = new Region<>("stats", properties, clock, meterRegistry);
+  }
+
+  ProgressSummaryResponse summary(
+      Long userId, LocalDate today, Supplier<ProgressSummaryResponse> loader) {
+    return summaries.get(userId, today, loader);
+  }
+
+  ProgressStatsResponse stats(Long userId, LocalDate today, Supplier<ProgressStatsResponse> loader) {
+    return stats.get(userId, today, loader);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onProgressRecorded(ProgressRecordedEvent event) {
+    summaries.invalidate(event.userId());
+    stats.invalidate(event.userId());
+  }
+
+  @Override
+  public void reset() {
+    summaries.clear();
+    stats.clear();
+  }
+
+  private static final class Region<V> {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    // Access-ordered, so the head is always the least recently read user
+    private final LinkedHashMap<Long, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Bumped on every invalidation so a response built while progress was being recorded is never
+    // cached
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    private Region(
+        String type, ProgressCacheProperties properties, Clock clock, MeterRegistry meterRegistry) {
+      this.maxEntries = properties.maxEntries();
+      this.ttl = properties.ttl();
+      this.clock = clock;
+      this.hits = requests(meterRegistry, type, "hit");
+      this.misses = requests(meterRegistry, type, "miss");
+      Gauge.builder("progress.cache.size", this, Region::size)
+          .tag("type", type)
+          .register(meterRegistry);
+    }
+
+    private V get(Long userId, LocalDate today, Supplier<V> loader) {
+      Instant now = clock.instant();
+      long loadGeneration;
+      synchronized (this) {
+        Entry<V> cached = entries.get(userId);
+        // Streaks and the recent-days window depend on the date, so an entry never outlives its day
+        if (cached != null && cached.day.equals(today) && cached.expiresAt.isAfter(now)) {
+          hits.increment();
+          return cached.value;
+        }
+        misses.increment();
+        loadGeneration = generation;
+      }
+
+      V loaded = loader.get();
+
+      synchronized (this) {
+        if (generation == loadGeneration) {
+          entries.put(userId, new Entry<>(loaded, today, now.plus(ttl)));
+          if (entries.size() > maxEntries) {
+            entries.pollFirstEntry();
+          }
+        }
+      }
+      return loaded;
+    }
+
+    private synchronized void invalidate(Long userId) {
+      entries.remove(userId);
+      generation++;
+    }
+
+    private synchronized void clear() {
+      entries.clear();
+      generation++;
+    }
+
+    private synchronized int size() {
+      return entries.size();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String type, String result) {
+      return Counter.builder("progress.cache.requests")
+          .tag("type", type)
+          .tag("result", result)
+          .register(meterRegistry);
+    }
+  }
+
+  private record Entry<V>(V value, LocalDate day, Instant expiresAt) {}
+}
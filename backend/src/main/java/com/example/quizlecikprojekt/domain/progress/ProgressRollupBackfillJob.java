@@ -0,0 +1,36 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import com.example.quizlecikprojekt.domain.user.UserFacade;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// One-off rebuild of progress_rollups from the daily progress rows. Enable for a single start
+// with progress.rollups.backfill=true.
+@Log4j2
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "progress.rollups.backfill", havingValue = "true")
+class ProgressRollupBackfillJob implements ApplicationRunner {
+
+  private final ProgressRollups progressRollups;
+  private final ProgressRepository progressRepository;
+  private final UserFacade userFacade;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    List<Long> userIds = progressRepository.findUserIdsWithProgress();
+    log.info("Rebuilding progress rollups for {} users", userIds.size());
+
+    int rollups = 0;
+    for (Long userId : userIds) {
+      rollups += progressRollups.rebuild(userFacade.getUserById(userId));
+    }
+
+    log.info("Progress rollup backfill finished, {} rollups written", rollups);
+  }
+}
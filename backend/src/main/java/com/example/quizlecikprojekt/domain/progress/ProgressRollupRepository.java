@@ -0,0 +1,44 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import com.example.quizlecikprojekt.entity.ProgressRollup;
+import com.example.quizlecikprojekt.entity.ProgressRollup.Period;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+interface ProgressRollupRepository extends JpaRepository<ProgressRollup, Long> {
+
+  // Served by the (user_id, period, period_start) unique index
+  List<ProgressRollup> findByUserIdAndPeriodAndPeriodStartGreaterThanEqualOrderByPeriodStartDesc(
+      Long userId, Period period, LocalDate from);
+
+  @Modifying
+  @Query(
+      "UPDATE ProgressRollup r SET"
+          + " r.totalWordsStudied = r.totalWordsStudied + :words,"
+          + " r.correctAnswers = r.correctAnswers + :correct,"
+          + " r.incorrectAnswers = r.incorrectAnswers + :incorrect,"
+          + " r.studyTimeMinutes = r.studyTimeMinutes + :minutes,"
+          + " r.sessions = r.sessions + :sessions,"
+          + " r.daysStudied = r.daysStudied + :days"
+          + " WHERE r.user.id = :userId AND r.period = :period AND r.periodStart = :periodStart")
+  int increment(
+      @Param("userId") Long userId,
+      @Param("period") Period period,
+      @Param("periodStart") LocalDate periodStart,
+      @Param("words") int words,
+      @Param("correct") int correct,
+      @Param("incorrect") int incorrect,
+      @Param("minutes") int minutes,
+      @Param("sessions") int sessions,
+      @Param("days") int days);
+
+  @Modifying
+  @Query("DELETE FROM ProgressRollup r WHERE r.user.id = :userId")
+  int deleteByUserId(@Param("userId") Long userId);
+}
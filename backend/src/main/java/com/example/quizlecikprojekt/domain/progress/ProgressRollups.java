@@ -0,0 +1,175 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import com.example.quizlecikprojekt.domain.progress.dto.MonthlyProgressResponse;
+import com.example.quizlecikprojekt.domain.progress.dto.RecordStudySessionRequest;
+import com.example.quizlecikprojekt.domain.progress.dto.WeeklyProgressResponse;
+import com.example.quizlecikprojekt.entity.Progress;
+import com.example.quizlecikprojekt.entity.ProgressRollup;
+import com.example.quizlecikprojekt.entity.ProgressRollup.Period;
+import com.example.quizlecikprojekt.entity.User;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Weekly and monthly totals per user, kept up to date as progress is recorded so that reading
+// them is a single index range over at most one row per period
+@Service
+@AllArgsConstructor
+class ProgressRollups {
+
+  private final ProgressRollupRepository rollupRepository;
+  private final ProgressRepository progressRepository;
+
+  @Transactional
+  public void record(
+      User user, LocalDate studyDate, RecordStudySessionRequest request, boolean newStudyDay) {
+    Totals totals =
+        new Totals(
+            request.totalWordsStudied(),
+            request.correctAnswers(),
+            request.incorrectAnswers(),
+            Optional.ofNullable(request.studyTimeMinutes()).orElse(0),
+            Optional.ofNullable(request.flashcardsCompleted()).orElse(0)
+                + Optional.ofNullable(request.quizzesCompleted()).orElse(0),
+            newStudyDay ? 1 : 0);
+
+    for (Period period : Period.values()) {
+      LocalDate periodStart = periodStart(period, studyDate);
+      int updated =
+          rollupRepository.increment(
+              user.getId(),
+              period,
+              periodStart,
+              totals.words(),
+              totals.correct(),
+              totals.incorrect(),
+              totals.minutes(),
+              totals.sessions(),
+              totals.days());
+      if (updated == 0) {
+        rollupRepository.save(newRollup(user, period, periodStart, totals));
+      }
+    }
+  }
+
+  @Transactional(readOnly = true)
+  public List<WeeklyProgressResponse> weekly(Long userId, LocalDate today, int weeks) {
+    LocalDate from = periodStart(Period.WEEK, today).minusWeeks(Math.max(weeks, 1) - 1);
+    return rollupRepository
+        .findByUserIdAndPeriodAndPeriodStartGreaterThanEqualOrderByPeriodStartDesc(
+            userId, Period.WEEK, from)
+        .stream()
+        .map(
+            rollup ->
+                new WeeklyProgressResponse(
+                    rollup.getPeriodStart() + " - " + rollup.getPeriodStart().plusDays(6),
+                    rollup.getTotalWordsStudied(),
+                    rollup.getCorrectAnswers(),
+                    rollup.getIncorrectAnswers(),
+                    rollup.getStudyTimeMinutes(),
+                    accuracy(rollup),
+                    List.of()))
+        .toList();
+  }
+
+  @Transactional(readOnly = true)
+  public List<MonthlyProgressResponse> monthly(Long userId, LocalDate today, int months) {
+    LocalDate from = periodStart(Period.MONTH, today).minusMonths(Math.max(months, 1) - 1);
+    return rollupRepository
+        .findByUserIdAndPeriodAndPeriodStartGreaterThanEqualOrderByPeriodStartDesc(
+            userId, Period.MONTH, from)
+        .stream()
+        .map(
+            rollup ->
+                new MonthlyProgressResponse(
+                    monthName(rollup.getPeriodStart()),
+                    rollup.getPeriodStart().getYear(),
+                    rollup.getTotalWordsStudied(),
+                    rollup.getStudyTimeMinutes(),
+                    accuracy(rollup),
+                    rollup.getDaysStudied()))
+        .toList();
+  }
+
+  // Recomputes all rollups of a user from the daily progress rows
+  @Transactional
+  public int rebuild(User user) {
+    rollupRepository.deleteByUserId(user.getId());
+
+    Map<String, ProgressRollup> rollups = new LinkedHashMap<>();
+    for (Progress progress : progressRepository.findByUserId(user.getId())) {
+      Totals totals =
+          new Totals(
+              progress.getTotalWordsStudied(),
+              progress.getCorrectAnswers(),
+              progress.getIncorrectAnswers(),
+              progress.getStudyTimeMinutes(),
+              progress.getFlashcardsCompleted() + progress.getQuizzesCompleted(),
+              1);
+
+      for (Period period : Period.values()) {
+        LocalDate periodStart = periodStart(period, progress.getStudyDate());
+        rollups.merge(
+            period + "/" + periodStart,
+            newRollup(user, period, periodStart, totals),
+            ProgressRollups::add);
+      }
+    }
+
+    rollupRepository.saveAll(rollups.values());
+    return rollups.size();
+  }
+
+  static LocalDate periodStart(Period period, LocalDate date) {
+    return switch (period) {
+      case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+      case MONTH -> date.withDayOfMonth(1);
+    };
+  }
+
+  private static ProgressRollup newRollup(
+      User user, Period period, LocalDate periodStart, Totals totals) {
+    ProgressRollup rollup = new ProgressRollup();
+    rollup.setUser(user);
+    rollup.setPeriod(period);
+    rollup.setPeriodStart(periodStart);
+    rollup.setTotalWordsStudied(totals.words());
+    rollup.setCorrectAnswers(totals.correct());
+    rollup.setIncorrectAnswers(totals.incorrect());
+    rollup.setStudyTimeMinutes(totals.minutes());
+    rollup.setSessions(totals.sessions());
+    rollup.setDaysStudied(totals.days());
+    return rollup;
+  }
+
+  private static ProgressRollup add(ProgressRollup target, ProgressRollup other) {
+    target.setTotalWordsStudied(target.getTotalWordsStudied() + other.getTotalWordsStudied());
+    target.setCorrectAnswers(target.getCorrectAnswers() + other.getCorrectAnswers());
+    target.setIncorrectAnswers(target.getIncorrectAnswers() + other.getIncorrectAnswers());
+    target.setStudyTimeMinutes(target.getStudyTimeMinutes() + other.getStudyTimeMinutes());
+    target.setSessions(target.getSessions() + other.getSessions());
+    target.setDaysStudied(target.getDaysStudied() + other.getDaysStudied());
+    return target;
+  }
+
+  private static String monthName(LocalDate monthStart) {
+    return monthStart.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+  }
+
+  private static double accuracy(ProgressRollup rollup) {
+    int answered = rollup.getCorrectAnswers() + rollup.getIncorrectAnswers();
+    return answered > 0 ? (double) rollup.getCorrectAnswers() / answered * 100.0 : 0.0;
+  }
+
+  private record Totals(
+      int words, int correct, int incorrect, int minutes, int sessions, int days) {}
+}
@@ -3,15 +3,21 @@ package com.example.quizlecikprojekt.domain.progress;
 import com.example.quizlecikprojekt.domain.progress.dto.*;
 import com.example.quizlecikprojekt.entity.User;
 import com.example.quizlecikprojekt.domain.wordset.WordSetFacade;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.time.format.TextStyle;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import com.example.quizlecikprojekt.entity.Progress;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
@@ -19,61 +25,58 @@ class ProgressService {
 
   private final ProgressRepository progressRepository;
   private final WordSetFacade wordSetService;
+  private final StreakTracker streakTracker;
+  private final ProgressRollups progressRollups;
+  private final ProgressResponseCache responseCache;
+  private final ApplicationEventPublisher eventPublisher;
+  private final StudyCalendar studyCalendar;
 
+  @Transactional
   public Progress recordStudySession(User user, RecordStudySessionRequest request) {
+    return recordStudySession(user, studyCalendar.today(user), request);
+  }
 
-    LocalDate today = LocalDate.now();
-    Optional<Progress> existingProgress =
-        progressRepository.findByUserIdAndStudyDate(user.getId(), today);
-
-    Progress progress;
-    if (existingProgress.isPresent()) {
-      progress = existingProgress.get();
-      progress.setTotalWordsStudied(progress.getTotalWordsStudied() + request.totalWordsStudied());
-      progress.setCorrectAnswers(progress.getCorrectAnswers() + request.correctAnswers());
-      progress.setIncorrectAnswers(progress.getIncorrectAnswers() + request.incorrectAnswers());
-      progress.setFlashcardsCompleted(
-          progress.getFlashcardsCompleted()
-              + Optional.ofNullable(request.flashcardsCompleted()).orElse(0));
-      progress.setQuizzesCompleted(
-          progress.getQuizzesCompleted()
-              + Optional.ofNullable(request.quizzesCompleted()).orElse(0));
-      progress.setStudyTimeMinutes(
-          progress.getStudyTimeMinutes()
-              + Optional.ofNullable(request.studyTimeMinutes()).orElse(0));
-    } else {
-      progress = new Progress();
-      progress.setUser(user);
-      if (request.wordSetId() != null) {
-        progress.setWordSet(wordSetService.getWordSetById(request.wordSetId()));
+  @Transactional
+  public Progress recordStudySession(
+      User user, LocalDate studyDate, RecordStudySessionRequest request) {
+    int streak = streakTracker.recordStudyDay(user, studyDate);
+
+    // Most sessions land on a day that already has a row, so update in place first; the insert is
+    // only reached by the day's first session and the unique index keeps it from duplicating rows
+    boolean newStudyDay = false;
+    if (incrementProgress(user, studyDate, request, streak) == 0) {
+      newStudyDay = insertProgress(user, studyDate, request, streak) == 1;
+      if (!newStudyDay) {
+        // Another transaction inserted the day's row in between
+        incrementProgress(user, studyDate, request, streak);
       }
-      progress.setStudyDate(today);
-      progress.setTotalWordsStudied(request.totalWordsStudied());
-      progress.setCorrectAnswers(request.correctAnswers());
-      progress.setIncorrectAnswers(request.incorrectAnswers());
-      progress.setFlashcardsCompleted(Optional.ofNullable(request.flashcardsCompleted()).orElse(0));
-      progress.setQuizzesCompleted(Optional.ofNullable(request.quizzesCompleted()).orElse(0));
-      progress.setStudyTimeMinutes(Optional.ofNullable(request.studyTimeMinutes()).orElse(0));
     }
 
-    progress.setStreakCount(getCurrentStreak(user.getId()));
-
-    return progressRepository.save(progress);
+    progressRollups.record(user, studyDate, request, newStudyDay);
+    eventPublisher.publishEvent(
+        new ProgressRecordedEvent(
+            user.getId(),
+            studyDate,
+            request.totalWordsStudied(),
+            request.correctAnswers(),
+            request.incorrectAnswers(),
+            streak));
+
+    return progressRepository.findByUserIdAndStudyDate(user.getId(), studyDate).orElseThrow();
   }
 
   public ProgressSummaryResponse getProgressSummary(User user) {
-    List<Progress> recentProgress =
-        progressRepository.findRecentProgressByUserId(user.getId(), LocalDate.now().minusDays(30));
-
-    Long totalWordsStudied = progressRepository.getTotalWordsStudiedByUserId(user.getId());
-    Long totalStudyTime = progressRepository.getTotalStudyTimeByUserId(user.getId());
-    Double overallAccuracy = progressRepository.getAverageAccuracyByUserId(user.getId());
-
-    int currentStreak = getCurrentStreak(user.getId());
-    int longestStreak = getLongestStreak(user.getId());
+    LocalDate today = studyCalendar.today(user);
+    return responseCache.summary(user.getId(), today, () -> loadProgressSummary(user, today));
+  }
 
-    Optional<Progress> lastProgress = progressRepository.findLastStudyDateByUserId(user.getId());
-    LocalDate lastStudyDate = lastProgress.map(Progress::getStudyDate).orElse(null);
+  private ProgressSummaryResponse loadProgressSummary(User user, LocalDate today) {
+    List<Progress> recentProgress =
+        progressRepository.findRecentProgressByUserId(user.getId(), today.minusDays(30));
+    ProgressTotals totals =
+        progressRepository
+            .findTotalsByUserId(user.getId())
+            .orElse(new ProgressTotals(null, null, null, null, null, null, null));
 
     int totalFlashcards = recentProgress.stream().mapToInt(Progress::getFlashcardsCompleted).sum();
     int totalQuizzes = recentProgress.stream().mapToInt(Progress::getQuizzesCompleted).sum();
@@ -84,94 +87,80 @@ class ProgressService {
     return new ProgressSummaryResponse(
         user.getId(),
         user.getName(),
-        currentStreak,
-        longestStreak,
-        totalWordsStudied != null ? totalWordsStudied.intValue() : 0,
+        totals.currentStreakAsOf(today),
+        Optional.ofNullable(totals.longestStreak()).orElse(0),
+        Optional.ofNullable(totals.totalWordsStudied()).map(Long::intValue).orElse(0),
         totalFlashcards,
         totalQuizzes,
-        totalStudyTime != null ? totalStudyTime.intValue() : 0,
-        overallAccuracy != null ? overallAccuracy : 0.0,
-        lastStudyDate,
+        Optional.ofNullable(totals.totalStudyTimeMinutes()).map(Long::intValue).orElse(0),
+        Optional.ofNullable(totals.overallAccuracy()).orElse(0.0),
+        totals.lastStudyDate(),
         dailyProgress);
   }
 
   public List<WeeklyProgressResponse> getWeeklyProgress(User user, int weeks) {
-    LocalDate endDate = LocalDate.now();
-    LocalDate startDate = endDate.minusWeeks(weeks);
-
-    List<Progress> progressList =
-        progressRepository.findByUserIdAndStudyDateBetweenOrderByStudyDateDesc(
-            user.getId(), startDate, endDate);
-
-    return groupProgressByWeek(progressList);
+    return progressRollups.weekly(user.getId(), studyCalendar.today(user), weeks);
   }
 
   public ProgressStatsResponse getProgressStats(User user) {
+    LocalDate today = studyCalendar.today(user);
+    return responseCache.stats(user.getId(), today, () -> loadProgressStats(user, today));
+  }
+
+  private ProgressStatsResponse loadProgressStats(User user, LocalDate today) {
     Long totalDaysStudied = progressRepository.getTotalStudyDaysByUserId(user.getId());
-    int currentStreak = getCurrentStreak(user.getId());
-    int longestStreak = getLongestStreak(user.getId());
+    int currentStreak = streakTracker.currentStreak(user.getId(), today);
+    int longestStreak = streakTracker.longestStreak(user.getId());
 
-    List<WeeklyProgressResponse> weeklyProgress = getWeeklyProgress(user, 12); // Last 12 weeks
-    List<MonthlyProgressResponse> monthlyProgress = getMonthlyProgress(user, 6); // Last 6 months
+    List<WeeklyProgressResponse> weeklyProgress =
+        progressRollups.weekly(user.getId(), today, 12); // Last 12 weeks
+    List<MonthlyProgressResponse> monthlyProgress =
+        progressRollups.monthly(user.getId(), today, 6); // Last 6 months
 
     return new ProgressStatsResponse(
         totalDaysStudied != null ? totalDaysStudied.intValue() : 0,
         currentStreak,
         longestStreak,
         getMostActiveDay(user.getId()),
-        "Morning",
+        getPreferredStudyTime(user),
         getMostStudiedWordSet(user.getId()),
         weeklyProgress,
         monthlyProgress);
   }
 
-  private int getCurrentStreak(Long userId) {
-    List<Progress> recentProgress = progressRepository.findByUserIdOrderByStudyDateDesc(userId);
-    if (recentProgress.isEmpty()) {
-      return 0;
-    }
-
-    int streak = 0;
-    LocalDate today = LocalDate.now();
-    LocalDate checkDate = today;
-
-    for (Progress progress : recentProgress) {
-      if (progress.getStudyDate().equals(checkDate)
-          || (streak == 0 && progress.getStudyDate().equals(today.minusDays(1)))) {
-        streak++;
-        checkDate = progress.getStudyDate().minusDays(1);
-      } else {
-        break;
-      }
-    }
-
-    return streak;
+  private int incrementProgress(
+      User user, LocalDate studyDate, RecordStudySessionRequest request, int streak) {
+    return progressRepository.increment(
+        user.getId(),
+        studyDate,
+        request.totalWordsStudied(),
+        request.correctAnswers(),
+        request.incorrectAnswers(),
+        Optional.ofNullable(request.flashcardsCompleted()).orElse(0),
+        Optional.ofNullable(request.quizzesCompleted()).orElse(0),
+        Optional.ofNullable(request.studyTimeMinutes()).orElse(0),
+        streak,
+        studyCalendar.now());
   }
 
-  private int getLongestStreak(Long userId) {
-    List<Progress> allProgress = progressRepository.findByUserIdOrderByStudyDateDesc(userId);
-    if (allProgress.isEmpty()) {
-      return 0;
-    }
-
-    int longestStreak = 0;
-    int currentStreak = 1;
-
-    for (int i = 1; i < allProgress.size(); i++) {
-      Progress current = allProgress.get(i);
-      Progress previous = allProgress.get(i - 1);
-
-      long daysBetween = ChronoUnit.DAYS.between(current.getStudyDate(), previous.getStudyDate());
-
-      if (daysBetween == 1) {
-        currentStreak++;
-      } else {
-        longestStreak = Math.max(longestStreak, currentStreak);
-        currentStreak = 1;
-      }
-    }
-
-    return Math.max(longestStreak, currentStreak);
+  private int insertProgress(
+      User user, LocalDate studyDate, RecordStudySessionRequest request, int streak) {
+    Long wordSetId =
+        request.wordSetId() != null
+            ? wordSetService.getWordSetById(request.wordSetId()).getId()
+            : null;
+    return progressRepository.insertIfAbsent(
+        user.getId(),
+        wordSetId,
+        studyDate,
+        request.totalWordsStudied(),
+        request.correctAnswers(),
+        request.incorrectAnswers(),
+        Optional.ofNullable(request.flashcardsCompleted()).orElse(0),
+        Optional.ofNullable(request.quizzesCompleted()).orElse(0),
+        Optional.ofNullable(request.studyTimeMinutes()).orElse(0),
+        streak,
+        studyCalendar.now());
   }
 
   private DailyProgressResponse mapToDailyProgressResponse(Progress progress) {
@@ -186,23 +175,49 @@ class ProgressService {
         progress.getAccuracyPercentage());
   }
 
-  private List<WeeklyProgressResponse> groupProgressByWeek(List<Progress> progressList) {
-    // Implementation to group progress by week
-    return List.of(); // Simplified for now
+  private String getMostActiveDay(Long userId) {
+    return progressRepository
+        .findMostActiveDayOfWeek(userId)
+        .map(weekday -> DayOfWeek.SUNDAY.plus(weekday - 1))
+        .map(day -> day.getDisplayName(TextStyle.FULL, Locale.ENGLISH))
+        .orElse(null);
   }
 
-  private List<MonthlyProgressResponse> getMonthlyProgress(User user, int months) {
-    // Implementation to get monthly progress
-    return List.of(); // Simplified for now
+  // Hours are shifted into the user's zone at today's offset before bucketing
+  private String getPreferredStudyTime(User user) {
+    LocalDate serverToday = studyCalendar.now().toLocalDate();
+    Map<String, Long> studyDays = new TreeMap<>();
+    for (HourCount count : progressRepository.countStudyDaysByHour(user.getId())) {
+      int hour = studyCalendar.localHour(user, serverToday.atTime(count.hour(), 30));
+      studyDays.merge(timeOfDay(hour), count.studyDays(), Long::sum);
+    }
+    // Ties go to the alphabetically first bucket
+    String preferred = null;
+    for (Map.Entry<String, Long> bucket : studyDays.entrySet()) {
+      if (preferred == null || bucket.getValue() > studyDays.get(preferred)) {
+        preferred = bucket.getKey();
+      }
+    }
+    return preferred;
   }
 
-  private String getMostActiveDay(Long userId) {
-    // Implementation to find most active day of the week
-    return "Monday"; // Simplified for now
+  private static String timeOfDay(int hour) {
+    if (hour >= 5 && hour <= 11) {
+      return "Morning";
+    }
+    if (hour >= 12 && hour <= 16) {
+      return "Afternoon";
+    }
+    if (hour >= 17 && hour <= 21) {
+      return "Evening";
+    }
+    return "Night";
   }
 
   private WordSetProgressResponse getMostStudiedWordSet(Long userId) {
-    // Implementation to find most studied word set
-    return null; // Simplified for now
+    return progressRepository
+        .findMostStudiedWordSet(userId)
+        .map(WordSetTotals::toResponse)
+        .orElse(null);
   }
 }
@@ -0,0 +1,18 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import java.time.LocalDate;
+
+// Result of ProgressRepository.findTotalsByUserId; streak fields are null until a streak row exists
+record ProgressTotals(
+    Long totalWordsStudied,
+    Long totalStudyTimeMinutes,
+    Double overallAccuracy,
+    LocalDate lastStudyDate,
+    Integer currentStreak,
+    Integer longestStreak,
+    LocalDate streakLastStudyDate) {
+
+  int currentStreakAsOf(LocalDate today) {
+    return StreakTracker.aliveStreak(currentStreak, streakLastStudyDate, today);
+  }
+}
@@ -4,7 +4,10 @@ import java.util.List;
 import java.util.Optional;
 
 import com.example.quizlecikprojekt.entity.ResourceEvaluation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,32 +19,20 @@ interface ResourceEvaluationRepository extends JpaRepository<ResourceEvaluation,
 
   Optional<ResourceEvaluation> findByUserIdAndVideoId(Long userId, Long videoId);
 
-  List<ResourceEvaluation> findByWordSetIdOrderByCreatedAtDesc(Long wordSetId);
+  // Locked so that concurrent edits of one evaluation apply their stats deltas one after another
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  Optional<ResourceEvaluation> findForUpdateByUserIdAndWordSetId(Long userId, Long wordSetId);
 
-  List<ResourceEvaluation> findByVideoIdOrderByCreatedAtDesc(Long videoId);
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  Optional<ResourceEvaluation> findForUpdateByUserIdAndVideoId(Long userId, Long videoId);
 
-  List<ResourceEvaluation> findByUserIdOrderByCreatedAtDesc(Long userId);
-
-  @Query("SELECT AVG(e.rating) FROM ResourceEvaluation e WHERE e.wordSet.id = :wordSetId")
-  Double getAverageRatingForWordSet(@Param("wordSetId") Long wordSetId);
-
-  @Query("SELECT AVG(e.rating) FROM ResourceEvaluation e WHERE e.video.id = :videoId")
-  Double getAverageRatingForVideo(@Param("videoId") Long videoId);
-
-  @Query("SELECT AVG(e.usefulnessRating) FROM ResourceEvaluation e WHERE e.wordSet.id = :wordSetId")
-  Double getAverageUsefulnessForWordSet(@Param("wordSetId") Long wordSetId);
+  @EntityGraph(attributePaths = "user")
+  List<ResourceEvaluation> findTop5ByWordSetIdOrderByCreatedAtDesc(Long wordSetId);
 
-  @Query(
-      "SELECT COUNT(e) FROM ResourceEvaluation e WHERE e.wordSet.id = :wordSetId AND e.wouldRecommend = true")
-  Long getRecommendationCountForWordSet(@Param("wordSetId") Long wordSetId);
-
-  @Query("SELECT COUNT(e) FROM ResourceEvaluation e WHERE e.wordSet.id = :wordSetId")
-  Long getTotalEvaluationsForWordSet(@Param("wordSetId") Long wordSetId);
-
-  @Query(
-      "SELECT e.difficultyLevel, COUNT(e) FROM ResourceEvaluation e WHERE e.wordSet.id = :wordSetId GROUP BY e.difficultyLevel ORDER BY COUNT(e) DESC")
-  List<Object[]> getDifficultyDistributionForWordSet(@Param("wordSetId") Long wordSetId);
+  @EntityGraph(attributePaths = "user")
+  List<ResourceEvaluation> findTop5ByVideoIdOrderByCreatedAtDesc(Long videoId);
 
+  List<ResourceEvaluation> findByUserIdOrderByCreatedAtDesc(Long userId);
 
   @Query("SELECT e FROM ResourceEvaluation e WHERE e.rating >= 4 ORDER BY e.createdAt DESC")
   List<ResourceEvaluation> findHighlyRatedResources();
@@ -0,0 +1,35 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import com.example.quizlecikprojekt.domain.user.UserFacade;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// One-off rebuild of user_streaks from the progress history, for data recorded before streaks
+// were tracked incrementally. Enable for a single start with progress.streaks.backfill=true.
+@Log4j2
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "progress.streaks.backfill", havingValue = "true")
+class StreakBackfillJob implements ApplicationRunner {
+
+  private final StreakTracker streakTracker;
+  private final ProgressRepository progressRepository;
+  private final UserFacade userFacade;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    List<Long> userIds = progressRepository.findUserIdsWithProgress();
+    log.info("Rebuilding streaks for {} users", userIds.size());
+
+    for (Long userId : userIds) {
+      streakTracker.rebuild(userFacade.getUserById(userId));
+    }
+
+    log.info("Streak backfill finished");
+  }
+}
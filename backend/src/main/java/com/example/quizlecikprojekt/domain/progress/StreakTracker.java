@@ -0,0 +1,97 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import com.example.quizlecikprojekt.entity.User;
+import com.example.quizlecikprojekt.entity.UserStreak;
+import java.time.LocalDate;
+import java.util.TreeSet;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Keeps each user's streaks up to date in O(1) per recorded study day instead of rescanning
+// the whole progress history
+@Service
+@AllArgsConstructor
+class StreakTracker {
+
+  private final UserStreakRepository userStreakRepository;
+  private final ProgressRepository progressRepository;
+
+  // Returns the current streak as of studyDate
+  @Transactional
+  public int recordStudyDay(User user, LocalDate studyDate) {
+    // The locked row also serializes the rest of a user's progress recording
+    userStreakRepository.insertIfAbsent(user.getId());
+    UserStreak streak = userStreakRepository.findForUpdate(user.getId()).orElse(null);
+
+    if (streak == null
+        || streak.getLastStudyDate() == null
+        || studyDate.isBefore(streak.getLastStudyDate())) {
+      // No state yet, or a day recorded out of order: derive it from the history once
+      streak = rebuildFromHistory(user, streak, studyDate);
+    } else if (!studyDate.equals(streak.getLastStudyDate())) {
+      boolean consecutive = studyDate.equals(streak.getLastStudyDate().plusDays(1));
+      int current = consecutive ? streak.getCurrentStreak() + 1 : 1;
+      streak.setCurrentStreak(current);
+      streak.setLongestStreak(Math.max(streak.getLongestStreak(), current));
+      streak.setLastStudyDate(studyDate);
+    }
+
+    return userStreakRepository.save(streak).getCurrentStreak();
+  }
+
+  // A streak stays alive until the user misses a whole day
+  @Transactional(readOnly = true)
+  public int currentStreak(Long userId, LocalDate today) {
+    return userStreakRepository
+        .findById(userId)
+        .map(streak -> aliveStreak(streak.getCurrentStreak(), streak.getLastStudyDate(), today))
+        .orElse(0);
+  }
+
+  @Transactional(readOnly = true)
+  public int longestStreak(Long userId) {
+    return userStreakRepository.findById(userId).map(UserStreak::getLongestStreak).orElse(0);
+  }
+
+  static int aliveStreak(Integer currentStreak, LocalDate lastStudyDate, LocalDate today) {
+    if (currentStreak == null
+        || lastStudyDate == null
+        || lastStudyDate.isBefore(today.minusDays(1))) {
+      return 0;
+    }
+    return currentStreak;
+  }
+
+  @Transactional
+  public UserStreak rebuild(User user) {
+    UserStreak existing = userStreakRepository.findForUpdate(user.getId()).orElse(null);
+    return userStreakRepository.save(rebuildFromHistory(user, existing, null));
+  }
+
+  private UserStreak rebuildFromHistory(User user, UserStreak streak, LocalDate extraDate) {
+    TreeSet<LocalDate> studyDates =
+        new TreeSet<>(progressRepository.findStudyDatesByUserId(user.getId()));
+    if (extraDate != null) {
+      studyDates.add(extraDate);
+    }
+
+    int run = 0;
+    int longest = 0;
+    LocalDate previous = null;
+    for (LocalDate date : studyDates) {
+      run = previous != null && date.equals(previous.plusDays(1)) ? run + 1 : 1;
+      longest = Math.max(longest, run);
+      previous = date;
+    }
+
+    if (streak == null) {
+      streak = new UserStreak();
+      streak.setUser(user);
+    }
+    streak.setCurrentStreak(run);
+    streak.setLongestStreak(longest);
+    streak.setLastStudyDate(previous);
+    return streak;
+  }
+}
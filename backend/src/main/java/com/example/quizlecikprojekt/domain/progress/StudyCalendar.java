@@ -0,0 +1,35 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import com.example.quizlecikprojekt.entity.User;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Study days are calendar days in the user's own time zone, so streaks, daily rows and rollups
+// break at the user's midnight rather than the server's. Timestamps stay in the clock's zone.
+@Component
+@AllArgsConstructor
+class StudyCalendar {
+
+  private final Clock clock;
+
+  LocalDate today(User user) {
+    return LocalDate.now(clock.withZone(user.zone()));
+  }
+
+  // The study day a server-side timestamp (taken from the same clock) falls on for the user
+  LocalDate studyDate(User user, LocalDateTime serverTime) {
+    return serverTime.atZone(clock.getZone()).withZoneSameInstant(user.zone()).toLocalDate();
+  }
+
+  // The user's local hour for a server-side timestamp
+  int localHour(User user, LocalDateTime serverTime) {
+    return serverTime.atZone(clock.getZone()).withZoneSameInstant(user.zone()).getHour();
+  }
+
+  LocalDateTime now() {
+    return LocalDateTime.now(clock);
+  }
+}
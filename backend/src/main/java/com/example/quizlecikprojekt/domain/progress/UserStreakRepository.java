@@ -0,0 +1,28 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import com.example.quizlecikprojekt.entity.UserStreak;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+interface UserStreakRepository extends JpaRepository<UserStreak, Long> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT s FROM UserStreak s WHERE s.userId = :userId")
+  Optional<UserStreak> findForUpdate(@Param("userId") Long userId);
+
+  // Concurrent first recordings both succeed here, then queue up on the row lock
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO user_streaks (user_id, current_streak, longest_streak)"
+              + " VALUES (:userId, 0, 0) ON CONFLICT DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(@Param("userId") Long userId);
+}
@@ -0,0 +1,26 @@
+package com.example.quizlecikprojekt.domain.progress;
+
+import com.example.quizlecikprojekt.domain.progress.dto.WordSetProgressResponse;
+import java.time.LocalDateTime;
+
+// Result of ProgressRepository.findMostStudiedWordSet
+record WordSetTotals(
+    Long wordSetId,
+    String wordSetTitle,
+    Long timesStudied,
+    Long totalWordsStudied,
+    Double averageAccuracy,
+    Long totalStudyTimeMinutes,
+    LocalDateTime lastStudied) {
+
+  WordSetProgressResponse toResponse() {
+    return new WordSetProgressResponse(
+        wordSetId,
+        wordSetTitle,
+        timesStudied.intValue(),
+        totalWordsStudied.intValue(),
+        averageAccuracy,
+        totalStudyTimeMinutes.intValue(),
+        lastStudied);
+  }
+}
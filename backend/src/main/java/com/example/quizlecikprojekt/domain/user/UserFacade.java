@@ -45,6 +45,10 @@ public class UserFacade {
     return userService.createNewUser(userRegisterDto);
   }
 
+  public void updateTimeZone(String email, String timeZone) {
+    userService.updateTimeZone(email, timeZone);
+  }
+
   public void deleteUser(Long userId) {
     userService.deleteUser(userId);
   }
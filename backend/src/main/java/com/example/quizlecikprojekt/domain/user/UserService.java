@@ -4,12 +4,15 @@ import com.example.quizlecikprojekt.domain.user.dto.UserRegisterDto;
 import com.example.quizlecikprojekt.domain.user.dto.UserResponseDto;
 import com.example.quizlecikprojekt.exception.UserNotFoundException;
 import com.example.quizlecikprojekt.domain.user.validator.PasswordValidator;
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.Set;
 
 import com.example.quizlecikprojekt.entity.User;
 import com.example.quizlecikprojekt.entity.UserRole;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 class UserService {
@@ -64,6 +67,19 @@ class UserService {
         .orElseThrow(() -> new UserNotFoundException("Not found"));
   }
 
+  @Transactional
+  public void updateTimeZone(String email, String timeZone) {
+    ZoneId zone;
+    try {
+      zone = ZoneId.of(timeZone);
+    } catch (DateTimeException | NullPointerException e) {
+      throw new IllegalArgumentException("Unknown time zone: " + timeZone);
+    }
+    User user = getUserByEmail(email);
+    user.setTimeZone(zone.getId());
+    userRepository.save(user);
+  }
+
   private User createUser(UserRegisterDto userDto) {
     User user =
         User.builder()
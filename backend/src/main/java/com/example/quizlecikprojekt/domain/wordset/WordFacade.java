@@ -5,40 +5,49 @@ import com.example.quizlecikprojekt.entity.Word;
 import jakarta.persistence.EntityNotFoundException;
 import java.sql.Date;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 @Component
 @AllArgsConstructor
 public class WordFacade {
   private final WordRepository wordRepository;
+  private final WordPointsWriteBehindBuffer wordPointsBuffer;
+  private final ApplicationEventPublisher eventPublisher;
 
-  public void updateWordPoints(Long wordId, int newPoints) {
-    Optional<Word> wordOptional = wordRepository.findById(wordId);
-    if (wordOptional.isEmpty()) {
-      throw new EntityNotFoundException("Word not found with id: " + wordId);
-    }
-
-    Word word = wordOptional.get();
-    word.setPoints(newPoints);
+  public void addWordPoints(Long wordId, int delta) {
+    wordPointsBuffer.add(wordId, delta);
+  }
 
-    wordRepository.save(word);
+  // Asynchronous, so a session end never waits for or fails on other sessions' pending points
+  public void requestWordPointsFlush() {
+    wordPointsBuffer.requestFlush();
   }
 
   public int deleteWords(List<Long> wordIds) {
     try {
       int deletedCount = 0;
+      Set<Long> changedWordSetIds = new HashSet<>();
 
       for (Long wordId : wordIds) {
-        if (wordRepository.existsById(wordId)) {
-          wordRepository.deleteById(wordId);
+        Optional<Word> word = wordRepository.findById(wordId);
+        if (word.isPresent()) {
+          wordRepository.delete(word.get());
+          changedWordSetIds.add(word.get().getWordSet().getId());
           deletedCount++;
         }
       }
+
+      changedWordSetIds.forEach(
+          wordSetId -> eventPublisher.publishEvent(new WordSetChangedEvent(wordSetId)));
       return deletedCount;
 
     } catch (Exception e) {
@@ -74,6 +83,16 @@ public class WordFacade {
         .removeIf(word -> word.getId() != null && !formWordIds.contains(word.getId()));
   }
 
+  public Word getWordById(Long wordId) {
+    return wordRepository
+        .findById(wordId)
+        .orElseThrow(() -> new EntityNotFoundException("Word not found with id: " + wordId));
+  }
+
+  public List<Word> getWordsByIds(Collection<Long> wordIds) {
+    return wordRepository.findAllById(wordIds);
+  }
+
   public Word updateWord(Long wordId, String newWord, String newTranslation) {
     Optional<Word> wordOptional = wordRepository.findById(wordId);
     if (wordOptional.isEmpty()) {
@@ -84,16 +103,20 @@ public class WordFacade {
     word.setWord(newWord.trim());
     word.setTranslation(newTranslation.trim());
 
-    return wordRepository.save(word);
+    Word saved = wordRepository.save(word);
+    eventPublisher.publishEvent(new WordSetChangedEvent(saved.getWordSet().getId()));
+    return saved;
   }
 
   public void deleteWord(Long wordId) {
     try {
-      if (!wordRepository.existsById(wordId)) {
-        throw new EntityNotFoundException("Word not found with id: " + wordId);
-      }
+      Word word =
+          wordRepository
+              .findById(wordId)
+              .orElseThrow(() -> new EntityNotFoundException("Word not found with id: " + wordId));
 
-      wordRepository.deleteById(wordId);
+      wordRepository.delete(word);
+      eventPublisher.publishEvent(new WordSetChangedEvent(word.getWordSet().getId()));
 
     } catch (EntityNotFoundException e) {
       throw e;
@@ -0,0 +1,28 @@
+package com.example.quizlecikprojekt.domain.wordset;
+
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+class WordPointsBufferConfig {
+
+  // Increments only live in memory until flushed; plug in a durable journal to survive crashes
+  @Bean
+  @ConditionalOnMissingBean
+  WordPointsJournal wordPointsJournal() {
+    return new WordPointsJournal() {
+      @Override
+      public void buffered(long wordId, int delta) {}
+
+      @Override
+      public void flushed(Map<Long, Integer> increments) {}
+
+      @Override
+      public Map<Long, Integer> pending() {
+        return Map.of();
+      }
+    };
+  }
+}
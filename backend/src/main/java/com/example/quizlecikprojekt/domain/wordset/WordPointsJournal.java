@@ -0,0 +1,12 @@
+package com.example.quizlecikprojekt.domain.wordset;
+
+import java.util.Map;
+
+public interface WordPointsJournal {
+
+  void buffered(long wordId, int delta);
+
+  void flushed(Map<Long, Integer> increments);
+
+  Map<Long, Integer> pending();
+}
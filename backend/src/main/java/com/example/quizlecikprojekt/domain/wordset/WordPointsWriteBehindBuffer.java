@@ -0,0 +1,187 @@
+package com.example.quizlecikprojekt.domain.wordset;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Log4j2
+@Component
+class WordPointsWriteBehindBuffer {
+
+  private final WordRepository wordRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final WordPointsJournal journal;
+  private final Clock clock;
+
+  // Writers share the read lock; a flush takes the write lock only to swap batches
+  private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private Batch current = new Batch();
+
+  // Session ends ask for a flush here instead of running it on the request thread
+  private final ExecutorService flusher =
+      Executors.newSingleThreadExecutor(
+          Thread.ofPlatform().name("word-points-flush").daemon().factory());
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+  private final Timer flushLag;
+  private final Counter flushedRows;
+  private final Counter failedFlushes;
+
+  WordPointsWriteBehindBuffer(
+      WordRepository wordRepository,
+      TransactionTemplate transactionTemplate,
+      WordPointsJournal journal,
+      Clock clock,
+      MeterRegistry meterRegistry) {
+    this.wordRepository = wordRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.journal = journal;
+    this.clock = clock;
+
+    this.flushLag = Timer.builder("learn.points.flush.lag").register(meterRegistry);
+    this.flushedRows = Counter.builder("learn.points.flushed").register(meterRegistry);
+    this.failedFlushes = Counter.builder("learn.points.flush.failures").register(meterRegistry);
+    Gauge.builder("learn.points.pending", this, WordPointsWriteBehindBuffer::pendingWords)
+        .register(meterRegistry);
+
+    journal.pending().forEach(this::merge);
+  }
+
+  void add(long wordId, int delta) {
+    journal.buffered(wordId, delta);
+    merge(wordId, delta);
+  }
+
+  @Scheduled(
+      fixedDelayString = "${learn.points.flush-interval}",
+      initialDelayString = "${learn.points.flush-interval}")
+  void scheduledFlush() {
+    flush();
+  }
+
+  // Coalesces requests: at most one flush is queued at a time, and it picks up everything buffered
+  // by the time it runs. If the request cannot be queued the timer flushes instead.
+  void requestFlush() {
+    if (flushRequested.compareAndSet(false, true)) {
+      try {
+        flusher.execute(
+            () -> {
+              flushRequested.set(false);
+              flush();
+            });
+      } catch (RejectedExecutionException e) {
+        flushRequested.set(false);
+      }
+    }
+  }
+
+  int flush() {
+    flushLock.lock();
+    try {
+      Batch batch = swap();
+      if (batch.increments.isEmpty()) {
+        return 0;
+      }
+
+      Map<Long, Integer> increments = Map.copyOf(batch.increments);
+
+      try {
+        transactionTemplate.executeWithoutResult(
+            status -> wordRepository.incrementPoints(increments));
+      } catch (RuntimeException e) {
+        // Includes failures to open a transaction, which are not DataAccessExceptions
+        log.error("Failed to flush points for {} words, re-queueing", increments.size(), e);
+        failedFlushes.increment();
+        requeue(batch);
+        return 0;
+      }
+
+      journal.flushed(increments);
+      flushedRows.increment(increments.size());
+      flushLag.record(Duration.between(batch.firstBufferedAt.get(), clock.instant()));
+      return increments.size();
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  @PreDestroy
+  void flushOnShutdown() {
+    flusher.shutdown();
+    flush();
+  }
+
+  int pendingWords() {
+    swapLock.readLock().lock();
+    try {
+      return current.increments.size();
+    } finally {
+      swapLock.readLock().unlock();
+    }
+  }
+
+  private void merge(long wordId, int delta) {
+    swapLock.readLock().lock();
+    try {
+      current.firstBufferedAt.compareAndSet(null, clock.instant());
+      current.increments.merge(wordId, delta, Integer::sum);
+    } finally {
+      swapLock.readLock().unlock();
+    }
+  }
+
+  // Keeps the failed batch's first-buffered time, so the lag metric covers the whole wait
+  private void requeue(Batch batch) {
+    swapLock.readLock().lock();
+    try {
+      current.firstBufferedAt.accumulateAndGet(
+          batch.firstBufferedAt.get(), WordPointsWriteBehindBuffer::earlier);
+      batch.increments.forEach(
+          (wordId, delta) -> current.increments.merge(wordId, delta, Integer::sum));
+    } finally {
+      swapLock.readLock().unlock();
+    }
+  }
+
+  private static Instant earlier(Instant a, Instant b) {
+    if (a == null || b == null) {
+      return a == null ? b : a;
+    }
+    return a.isBefore(b) ? a : b;
+  }
+
+  private Batch swap() {
+    swapLock.writeLock().lock();
+    try {
+      Batch batch = current;
+      current = new Batch();
+      return batch;
+    } finally {
+      swapLock.writeLock().unlock();
+    }
+  }
+
+  private static final class Batch {
+    private final Map<Long, Integer> increments = new ConcurrentHashMap<>();
+    private final AtomicReference<Instant> firstBufferedAt = new AtomicReference<>();
+  }
+}
@@ -1,13 +1,48 @@
 package com.example.quizlecikprojekt.domain.wordset;
 
 import com.example.quizlecikprojekt.entity.WordSet;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import com.example.quizlecikprojekt.entity.Word;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 interface WordRepository extends JpaRepository<Word, Long> {
+
+  // Well below Postgres's limit of 32767 bind parameters per statement
+  int MAX_IDS_PER_UPDATE = 5000;
+
+  @Modifying
+  @Query("UPDATE Word w SET w.points = COALESCE(w.points, 0) + :delta WHERE w.id IN :wordIds")
+  int incrementPoints(@Param("wordIds") Collection<Long> wordIds, @Param("delta") int delta);
+
+  // Coalesced increments share only a handful of distinct deltas, so this is usually one UPDATE
+  // per delta and chunk of ids
+  default int incrementPoints(Map<Long, Integer> increments) {
+    Map<Integer, List<Long>> wordIdsByDelta =
+        increments.entrySet().stream()
+            .filter(entry -> entry.getValue() != 0)
+            .collect(
+                Collectors.groupingBy(
+                    Map.Entry::getValue,
+                    Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+
+    int updated = 0;
+    for (Map.Entry<Integer, List<Long>> group : wordIdsByDelta.entrySet()) {
+      List<Long> wordIds = group.getValue();
+      for (int from = 0; from < wordIds.size(); from += MAX_IDS_PER_UPDATE) {
+        int to = Math.min(from + MAX_IDS_PER_UPDATE, wordIds.size());
+        updated += incrementPoints(wordIds.subList(from, to), group.getKey());
+      }
+    }
+    return updated;
+  }
 }
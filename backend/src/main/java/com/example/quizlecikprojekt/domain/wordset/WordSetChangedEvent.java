@@ -0,0 +1,3 @@
+package com.example.quizlecikprojekt.domain.wordset;
+
+public record WordSetChangedEvent(Long wordSetId) {}
@@ -10,6 +10,7 @@ import java.util.List;
 
 import com.example.quizlecikprojekt.entity.WordSet;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +23,7 @@ class WordSetService {
   private final WordRepository wordRepository;
   private final WordFacade wordFacade;
   private final WordSetTransactionalService transactionalService;
+  private final ApplicationEventPublisher eventPublisher;
 
   public WordSet getWordSetById(Long wordSetId) {
     return wordSetRepository
@@ -32,6 +34,7 @@ class WordSetService {
   public void deleteWordSet(Long id) {
     try {
       transactionalService.deleteWordSet(id);
+      eventPublisher.publishEvent(new WordSetChangedEvent(id));
     } catch (WordSetNotFoundException e) {
       throw e;
     } catch (Exception e) {
@@ -48,7 +51,9 @@ class WordSetService {
         wordFacade.updateWords(existingWordSet, wordSetForm.getWords());
       }
 
-      return transactionalService.updateWordSet(existingWordSet);
+      WordSet updated = transactionalService.updateWordSet(existingWordSet);
+      eventPublisher.publishEvent(new WordSetChangedEvent(id));
+      return updated;
 
     } catch (WordSetNotFoundException e) {
       throw e;
@@ -79,7 +84,9 @@ class WordSetService {
                             })
                     .toList();
 
-    return wordRepository.saveAll(wordsToSave);
+    List<Word> savedWords = wordRepository.saveAll(wordsToSave);
+    eventPublisher.publishEvent(new WordSetChangedEvent(wordSetId));
+    return savedWords;
   }
 
   public List<WordSet> getWordSetsByUser(User user) {
@@ -0,0 +1,24 @@
+package com.example.quizlecikprojekt.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+// Ids of stateless learn session tokens that were already answered or ended; a row only has
+// to outlive the token it burns
+@Entity
+@Table(
+    name = "consumed_learn_tokens",
+    indexes = @Index(name = "idx_consumed_learn_tokens_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+public class ConsumedLearnToken {
+
+  @Id
+  @Column(name = "token_id", length = 32)
+  private String tokenId;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+}
@@ -0,0 +1,57 @@
+package com.example.quizlecikprojekt.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// Inbox read model: one row per pair of users who have exchanged private messages, stored with
+// the lower user id first so both sides find the same row. Kept up to date as messages are sent
+// and read.
+@Entity
+@Table(
+    name = "conversations",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_conversations_pair",
+            columnNames = {"user_low_id", "user_high_id"}),
+    indexes = {
+      // Inbox listing from either side, most recent first
+      @Index(name = "idx_conversations_low_activity", columnList = "user_low_id, last_activity_at"),
+      @Index(name = "idx_conversations_high_activity", columnList = "user_high_id, last_activity_at")
+    })
+@Getter
+@Setter
+public class Conversation {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_low_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private User userLow;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_high_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private User userHigh;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "last_message_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private PrivateMessage lastMessage;
+
+  @Column(name = "last_activity_at", nullable = false)
+  private LocalDateTime lastActivityAt;
+
+  // Messages each side has received and not read yet
+  @Column(name = "low_unread", nullable = false)
+  private Integer lowUnread = 0;
+
+  @Column(name = "high_unread", nullable = false)
+  private Integer highUnread = 0;
+}
@@ -7,6 +7,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // Keyset pagination of a group's history
+        @Index(name = "idx_group_message_group_created", columnList = "group_id, created_at, id")
+})
 @Getter
 @Setter
 public class GroupMessage {
@@ -0,0 +1,37 @@
+package com.example.quizlecikprojekt.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(
+    name = "learn_sessions",
+    indexes = @Index(name = "idx_learn_sessions_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+public class LearnSessionRecord {
+
+  @Id
+  @Column(name = "session_id", length = 64)
+  private String sessionId;
+
+  @Column(name = "session_type", nullable = false, length = 16)
+  private String type;
+
+  // Written once when the session starts
+  @Column(name = "snapshot", nullable = false, length = 1_000_000)
+  private byte[] snapshot;
+
+  // Rewritten on every answer; a few bytes
+  @Column(name = "progress", nullable = false, length = 65_536)
+  private byte[] progress;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  // Bumped by every progress write, so a replica can tell whether its heap copy is current
+  @Column(name = "version", nullable = false)
+  private Long version;
+}
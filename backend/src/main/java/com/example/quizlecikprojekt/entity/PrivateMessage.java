@@ -7,7 +7,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "private_messages")
+@Table(name = "private_messages", indexes = {
+        // Keyset pagination of one direction of a conversation
+        @Index(name = "idx_private_messages_pair_created", columnList = "sender_id, recipient_id, created_at, id")
+})
 public class PrivateMessage {
 
     @Id
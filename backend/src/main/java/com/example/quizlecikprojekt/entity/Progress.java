@@ -9,7 +9,12 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "progress")
+@Table(
+    name = "progress",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_progress_user_date",
+            columnNames = {"user_id", "study_date"}))
 @Getter
 @Setter
 public class Progress {
@@ -0,0 +1,60 @@
+package com.example.quizlecikprojekt.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Table(
+    name = "progress_rollups",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_progress_rollups_user_period",
+            columnNames = {"user_id", "period", "period_start"}))
+@Getter
+@Setter
+public class ProgressRollup {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private User user;
+
+  @Column(name = "period", nullable = false, length = 8)
+  @Enumerated(EnumType.STRING)
+  private Period period;
+
+  // Monday of the week or first day of the month
+  @Column(name = "period_start", nullable = false)
+  private LocalDate periodStart;
+
+  @Column(name = "total_words_studied", nullable = false)
+  private Integer totalWordsStudied = 0;
+
+  @Column(name = "correct_answers", nullable = false)
+  private Integer correctAnswers = 0;
+
+  @Column(name = "incorrect_answers", nullable = false)
+  private Integer incorrectAnswers = 0;
+
+  @Column(name = "study_time_minutes", nullable = false)
+  private Integer studyTimeMinutes = 0;
+
+  @Column(name = "sessions", nullable = false)
+  private Integer sessions = 0;
+
+  @Column(name = "days_studied", nullable = false)
+  private Integer daysStudied = 0;
+
+  public enum Period {
+    WEEK,
+    MONTH
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.quizlecikprojekt.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// Running totals over all evaluations of one word set or video, adjusted whenever an evaluation is
+// created or edited so that summaries never scan the evaluations
+@Entity
+@Table(
+    name = "resource_evaluation_stats",
+    uniqueConstraints = {
+      @UniqueConstraint(name = "uk_evaluation_stats_word_set", columnNames = "word_set_id"),
+      @UniqueConstraint(name = "uk_evaluation_stats_video", columnNames = "video_id")
+    })
+@Getter
+@Setter
+public class ResourceEvaluationStats {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "word_set_id")
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private WordSet wordSet;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "video_id")
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Video video;
+
+  @Column(name = "evaluations", nullable = false)
+  private Integer evaluations = 0;
+
+  @Column(name = "rating_sum", nullable = false)
+  private Long ratingSum = 0L;
+
+  @Column(name = "usefulness_sum", nullable = false)
+  private Long usefulnessSum = 0L;
+
+  @Column(name = "recommendations", nullable = false)
+  private Integer recommendations = 0;
+
+  // Difficulty histogram; evaluations without a difficulty are not counted here
+  @Column(name = "beginner", nullable = false)
+  private Integer beginner = 0;
+
+  @Column(name = "intermediate", nullable = false)
+  private Integer intermediate = 0;
+
+  @Column(name = "advanced", nullable = false)
+  private Integer advanced = 0;
+
+  @Column(name = "expert", nullable = false)
+  private Integer expert = 0;
+}
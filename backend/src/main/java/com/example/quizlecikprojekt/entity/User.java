@@ -2,6 +2,8 @@ package com.example.quizlecikprojekt.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -31,6 +33,10 @@ public class User implements UserDetails {
 
   private String password;
 
+  // IANA zone id deciding which calendar day a study session counts towards; null means UTC
+  @Column(name = "time_zone")
+  private String timeZone;
+
   @ManyToMany(fetch = FetchType.EAGER)
   @JoinTable(
       name = "user_roles",
@@ -44,6 +50,10 @@ public class User implements UserDetails {
     return this;
   }
 
+  public ZoneId zone() {
+    return timeZone != null ? ZoneId.of(timeZone) : ZoneOffset.UTC;
+  }
+
   @Override
   public Collection<? extends GrantedAuthority> getAuthorities() {
     return null;
@@ -0,0 +1,35 @@
+package com.example.quizlecikprojekt.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Table(name = "user_streaks")
+@Getter
+@Setter
+public class UserStreak {
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @OneToOne(fetch = FetchType.LAZY)
+  @MapsId
+  @JoinColumn(name = "user_id")
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private User user;
+
+  // Length of the run of consecutive study days ending at lastStudyDate
+  @Column(name = "current_streak", nullable = false)
+  private Integer currentStreak = 0;
+
+  @Column(name = "longest_streak", nullable = false)
+  private Integer longestStreak = 0;
+
+  @Column(name = "last_study_date")
+  private LocalDate lastStudyDate;
+}
@@ -0,0 +1,56 @@
+package com.example.quizlecikprojekt.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Table(
+    name = "word_reviews",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "word_id"}),
+    indexes = @Index(name = "idx_word_reviews_due", columnList = "user_id, word_set_id, due_at"))
+@Getter
+@Setter
+public class WordReview {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private User user;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "word_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Word word;
+
+  // Denormalized from the word so due cards of one set are a single index range
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "word_set_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private WordSet wordSet;
+
+  @Column(name = "ease_factor", nullable = false)
+  private Double easeFactor;
+
+  @Column(name = "interval_days", nullable = false)
+  private Integer intervalDays = 0;
+
+  @Column(name = "repetitions", nullable = false)
+  private Integer repetitions = 0;
+
+  @Column(name = "lapses", nullable = false)
+  private Integer lapses = 0;
+
+  @Column(name = "due_at", nullable = false)
+  private LocalDateTime dueAt;
+
+  @Column(name = "last_reviewed_at")
+  private LocalDateTime lastReviewedAt;
+}
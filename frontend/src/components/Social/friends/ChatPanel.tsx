@@ -19,7 +19,9 @@ interface Message {
 
 const ChatPanel: React.FC<ChatPanelProps> = ({ friend, onClose }) => {
     const [messages, setMessages] = useState<Message[]>([]);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
     const [loading, setLoading] = useState(true);
+    const [loadingOlder, setLoadingOlder] = useState(false);
     const [messageText, setMessageText] = useState('');
     const [sending, setSending] = useState(false);
 
@@ -29,8 +31,10 @@ const ChatPanel: React.FC<ChatPanelProps> = ({ friend, onClose }) => {
             try {
                 const data = await socialApi.getConversation(friend.id);
                 setMessages(data.messages || []);
+                setNextCursor(data.nextCursor);
             } catch (e) {
                 setMessages([]);
+                setNextCursor(null);
             } finally {
                 setLoading(false);
             }
@@ -38,6 +42,18 @@ const ChatPanel: React.FC<ChatPanelProps> = ({ friend, onClose }) => {
         fetchMessages();
     }, [friend.id]);
 
+    const loadOlder = async () => {
+        if (!nextCursor) return;
+        setLoadingOlder(true);
+        try {
+            const data = await socialApi.getConversation(friend.id, nextCursor);
+            setMessages(prev => [...data.messages, ...prev]);
+            setNextCursor(data.nextCursor);
+        } finally {
+            setLoadingOlder(false);
+        }
+    };
+
     const sendMessage = async () => {
         if (!messageText.trim()) return;
         setSending(true);
@@ -45,7 +61,7 @@ const ChatPanel: React.FC<ChatPanelProps> = ({ friend, onClose }) => {
             await socialApi.sendPrivateMessage(friend.id, messageText);
             setMessageText('');
             const data = await socialApi.getConversation(friend.id);
-            setMessages(data.messages || []);
+            setMessages(prev => socialApi.mergeNewestPage(prev, data.messages || []));
         } finally {
             setSending(false);
         }
@@ -74,12 +90,19 @@ const ChatPanel: React.FC<ChatPanelProps> = ({ friend, onClose }) => {
                         messages.length === 0 ? (
                             <div className="chatpanel-empty">Brak wiadomości</div>
                         ) : (
-                            messages.map(msg => (
-                                <div key={msg.id} className={`chatpanel-message ${msg.senderId === friend.id ? 'incoming' : 'outgoing'}`}>
-                                    <div className="msg-content">{msg.content}</div>
-                                    <div className="msg-timestamp">{new Date(msg.timestamp).toLocaleTimeString('pl-PL', { hour: '2-digit', minute: '2-digit' })}</div>
-                                </div>
-                            ))
+                            <>
+                                {nextCursor && (
+                                    <button className="btn-glass" onClick={loadOlder} disabled={loadingOlder}>
+                                        {loadingOlder ? 'Ładowanie...' : 'Wczytaj starsze wiadomości'}
+                                    </button>
+                                )}
+                                {messages.map(msg => (
+                                    <div key={msg.id} className={`chatpanel-message ${msg.senderId === friend.id ? 'incoming' : 'outgoing'}`}>
+                                        <div className="msg-content">{msg.content}</div>
+                                        <div className="msg-timestamp">{new Date(msg.timestamp).toLocaleTimeString('pl-PL', { hour: '2-digit', minute: '2-digit' })}</div>
+                                    </div>
+                                ))}
+                            </>
                         )
                     )}
                 </div>
@@ -27,6 +27,8 @@ const GroupChatPage: React.FC = () => {
     const [groups, setGroups] = useState<Group[]>([]);
     const [selectedGroup, setSelectedGroup] = useState<Group | null>(null);
     const [messages, setMessages] = useState<Message[]>([]);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [loadingOlder, setLoadingOlder] = useState(false);
     const [newMsg, setNewMsg] = useState('');
     const [showCreate, setShowCreate] = useState(false);
     const [groupName, setGroupName] = useState('');
@@ -66,6 +68,7 @@ const GroupChatPage: React.FC = () => {
         try {
             const data = await socialApi.getGroupMessages(groupId);
             setMessages(data.messages);
+            setNextCursor(data.nextCursor);
         } catch {
             toast.error("Nie udało się załadować wiadomości");
         } finally {
@@ -73,13 +76,32 @@ const GroupChatPage: React.FC = () => {
         }
     };
 
+    const loadOlderMessages = async () => {
+        if (!selectedGroup || !nextCursor) return;
+        setLoadingOlder(true);
+        try {
+            const data = await socialApi.getGroupMessages(selectedGroup.id, nextCursor);
+            setMessages(prev => [...data.messages, ...prev]);
+            setNextCursor(data.nextCursor);
+        } catch {
+            toast.error("Nie udało się załadować wiadomości");
+        } finally {
+            setLoadingOlder(false);
+        }
+    };
+
+    const refreshNewestMessages = async (groupId: number) => {
+        const data = await socialApi.getGroupMessages(groupId);
+        setMessages(prev => socialApi.mergeNewestPage(prev, data.messages));
+    };
+
     const sendMessage = async () => {
         if (!selectedGroup || !newMsg.trim()) return;
         setSendingMessage(true);
         try {
             await socialApi.sendGroupMessage(selectedGroup.id, newMsg);
             setNewMsg('');
-            loadMessages(selectedGroup.id);
+            await refreshNewestMessages(selectedGroup.id);
         } catch {
             toast.error("Błąd wysyłania wiadomości");
         } finally {
@@ -194,14 +216,23 @@ const GroupChatPage: React.FC = () => {
                                 </div>
                             ) : messages.length === 0 ? (
                                 <div className="empty-chat">Brak wiadomości</div>
-                            ) : messages.map(m => (
-                                <div key={m.id} className="chat-message">
-                                    <div>
-                                        <strong className="sender">{m.senderName}</strong>: {m.content}
-                                    </div>
-                                    <span className="timestamp">{new Date(m.createdAt).toLocaleString()}</span>
-                                </div>
-                            ))}
+                            ) : (
+                                <>
+                                    {nextCursor && (
+                                        <button className="btn-glass" onClick={loadOlderMessages} disabled={loadingOlder}>
+                                            {loadingOlder ? 'Ładowanie...' : 'Wczytaj starsze wiadomości'}
+                                        </button>
+                                    )}
+                                    {messages.map(m => (
+                                        <div key={m.id} className="chat-message">
+                                            <div>
+                                                <strong className="sender">{m.senderName}</strong>: {m.content}
+                                            </div>
+                                            <span className="timestamp">{new Date(m.createdAt).toLocaleString()}</span>
+                                        </div>
+                                    ))}
+                                </>
+                            )}
                         </div>
 
                         <div className="chat-input-row">
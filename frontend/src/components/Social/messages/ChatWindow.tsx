@@ -17,6 +17,8 @@ interface ChatWindowProps {
     userId: number;
     userName: string;
     messages: PrivateMessage[];
+    hasOlderMessages: boolean;
+    onLoadOlder: (userId: number) => Promise<void>;
     onSendMessage: (userId: number, content: string) => Promise<void>;
     onBack: () => void;
 }
@@ -25,11 +27,14 @@ const ChatWindow: React.FC<ChatWindowProps> = ({
                                                    userId,
                                                    userName,
                                                    messages,
+                                                   hasOlderMessages,
+                                                   onLoadOlder,
                                                    onSendMessage,
                                                    onBack,
                                                }) => {
     const [newMessage, setNewMessage] = useState('');
     const [sending, setSending] = useState(false);
+    const [loadingOlder, setLoadingOlder] = useState(false);
     const messagesEndRef = useRef<HTMLDivElement>(null);
     const currentUser = 'SzymonBartkowiak43';
 
@@ -37,9 +42,20 @@ const ChatWindow: React.FC<ChatWindowProps> = ({
         messagesEndRef.current?.scrollIntoView({ behavior: 'smooth' });
     };
 
+    // Older pages are prepended, so only jump to the bottom when the newest message changes
+    const newestMessageId = messages.length > 0 ? messages[messages.length - 1].id : null;
     useEffect(() => {
         scrollToBottom();
-    }, [messages]);
+    }, [newestMessageId]);
+
+    const handleLoadOlder = async () => {
+        setLoadingOlder(true);
+        try {
+            await onLoadOlder(userId);
+        } finally {
+            setLoadingOlder(false);
+        }
+    };
 
 
     const handleSendMessage = async (e: React.FormEvent) => {
@@ -124,6 +140,17 @@ const ChatWindow: React.FC<ChatWindowProps> = ({
             </div>
 
             <div className="flex-1 overflow-y-auto p-4 space-y-4">
+                {hasOlderMessages && (
+                    <div className="text-center">
+                        <button
+                            onClick={handleLoadOlder}
+                            disabled={loadingOlder}
+                            className="btn-glass"
+                        >
+                            {loadingOlder ? 'Ładowanie...' : 'Wczytaj starsze wiadomości'}
+                        </button>
+                    </div>
+                )}
                 {Object.entries(groupedMessages).map(([date, dayMessages]) => (
                     <div key={date}>
                         <div className="flex items-center justify-center my-4">
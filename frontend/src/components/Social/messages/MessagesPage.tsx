@@ -36,6 +36,8 @@ const MessagesPage: React.FC = () => {
         sendPrivateMessage,
         sendGroupMessage,
         getConversation,
+        conversationCursors,
+        loadOlderMessages,
         refreshMessages
     } = useMessages();
 
@@ -176,6 +178,8 @@ const MessagesPage: React.FC = () => {
                             userId={activeChat.id}
                             userName={activeChat.name}
                             messages={conversations[activeChat.id] || []}
+                            hasOlderMessages={!!conversationCursors[activeChat.id]}
+                            onLoadOlder={loadOlderMessages}
                             onSendMessage={sendPrivateMessage}
                             onBack={backToConversations}
                         />
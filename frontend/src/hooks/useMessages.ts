@@ -17,13 +17,17 @@ interface UseMessagesReturn {
     shareWordSetPrivately: (recipientId: number, wordSetId: number) => Promise<void>;
     shareWordSetInGroup: (groupId: number, wordSetId: number) => Promise<void>;
     getConversation: (userId: number) => Promise<void>;
+    conversationCursors: Record<number, string | null>;
+    loadOlderMessages: (userId: number) => Promise<void>;
     markMessagesAsRead: (messageIds: number | undefined) => Promise<void>;
     refreshMessages: () => Promise<void>;
 }
 
-export const useMessages = (): { messagingInfo: MessagingInfo | null; shareWordSetInGroup: (groupId: number, wordSetId: number) => Promise<void>; sendPrivateMessage: (recipientId: number, content: string) => Promise<void>; sendGroupMessage: (groupId: number, content: string) => Promise<void>; shareWordSetPrivately: (recipientId: number, wordSetId: number) => Promise<void>; getConversation: (userId: number) => Promise<void>; markMessagesAsRead: (messageIds: number[]) => Promise<void>; loading: boolean; error: string | null; conversations: Record<number, PrivateMessage[]>; refreshMessages: () => Promise<void> } => {
+export const useMessages = (): { messagingInfo: MessagingInfo | null; shareWordSetInGroup: (groupId: number, wordSetId: number) => Promise<void>; sendPrivateMessage: (recipientId: number, content: string) => Promise<void>; sendGroupMessage: (groupId: number, content: string) => Promise<void>; shareWordSetPrivately: (recipientId: number, wordSetId: number) => Promise<void>; getConversation: (userId: number) => Promise<void>; conversationCursors: Record<number, string | null>; loadOlderMessages: (userId: number) => Promise<void>; markMessagesAsRead: (messageIds: number[]) => Promise<void>; loading: boolean; error: string | null; conversations: Record<number, PrivateMessage[]>; refreshMessages: () => Promise<void> } => {
     const [messagingInfo, setMessagingInfo] = useState<MessagingInfo | null>(null);
     const [conversations, setConversations] = useState<Record<number, PrivateMessage[]>>({});
+    // nextCursor of the oldest page loaded per conversation; null once its whole history is loaded
+    const [conversationCursors, setConversationCursors] = useState<Record<number, string | null>>({});
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState<string | null>(null);
 
@@ -88,10 +92,14 @@ export const useMessages = (): { messagingInfo: MessagingInfo | null; shareWordS
 
     const getConversation = useCallback(async (userId: number) => {
         try {
-            const messages = await socialApi.getGroupMessages(userId);
+            const page = await socialApi.getConversation(userId);
             setConversations(prev => ({
                 ...prev,
-                [userId]: messages
+                [userId]: page.messages
+            }));
+            setConversationCursors(prev => ({
+                ...prev,
+                [userId]: page.nextCursor
             }));
         } catch (err: any) {
             toast.error('Nie udało się załadować konwersacji');
@@ -99,6 +107,25 @@ export const useMessages = (): { messagingInfo: MessagingInfo | null; shareWordS
         }
     }, []);
 
+    const loadOlderMessages = useCallback(async (userId: number) => {
+        const before = conversationCursors[userId];
+        if (!before) return;
+        try {
+            const page = await socialApi.getConversation(userId, before);
+            setConversations(prev => ({
+                ...prev,
+                [userId]: [...page.messages, ...(prev[userId] || [])]
+            }));
+            setConversationCursors(prev => ({
+                ...prev,
+                [userId]: page.nextCursor
+            }));
+        } catch (err: any) {
+            toast.error('Nie udało się załadować starszych wiadomości');
+            console.error('Failed to load older messages:', err);
+        }
+    }, [conversationCursors]);
+
     const markMessagesAsRead = useCallback(async (messageIds: number[]) => {
         try {
             toast.success('Wiadomości zostały oznaczone jako przeczytane');
@@ -128,6 +155,8 @@ export const useMessages = (): { messagingInfo: MessagingInfo | null; shareWordS
         shareWordSetPrivately,
         shareWordSetInGroup,
         getConversation,
+        conversationCursors,
+        loadOlderMessages,
         markMessagesAsRead,
         refreshMessages
     };
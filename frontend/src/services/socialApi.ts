@@ -8,7 +8,7 @@ import {
     GroupMessage,
     CreateGroupRequest,
     JoinGroupRequest,
-    UpdateGroupRequest, FriendshipInfo
+    UpdateGroupRequest, FriendshipInfo, MessagePage
 } from '../types/social';
 
 const api = axios.create({
@@ -74,8 +74,11 @@ export const getSocialStats = async (): Promise<any> => {
     return response.data;
 };
 
-export const getConversation = async (userId: number) => {
-    const res = await api.get(`/api/messages/private/conversation/${userId}`);
+// The newest page of the conversation, or the page before `before` (a previous nextCursor)
+export const getConversation = async (userId: number, before?: string | null): Promise<MessagePage<any>> => {
+    const res = await api.get(`/api/messages/private/conversation/${userId}`, {
+        params: { before: before || undefined }
+    });
     return res.data;
 };
 
@@ -117,10 +120,18 @@ export const createGroup = async (name: string, memberIds: number[]) => {
     const response = await api.post('/api/messages/groups', { name, memberIds });
     return response.data;
 };
-export const getGroupMessages = async (groupId: number) => {
-    const response = await api.get(`/api/messages/groups/${groupId}/messages`);
+export const getGroupMessages = async (groupId: number, before?: string | null): Promise<MessagePage<any>> => {
+    const response = await api.get(`/api/messages/groups/${groupId}/messages`, {
+        params: { before: before || undefined }
+    });
     return response.data;
 };
+
+// Refreshing only fetches the newest page, so older pages the user already loaded are kept
+export const mergeNewestPage = <T extends { id: number }>(loaded: T[], newest: T[]): T[] => {
+    const newestIds = new Set(newest.map(m => m.id));
+    return [...loaded.filter(m => !newestIds.has(m.id)), ...newest];
+};
 export const sendGroupMessage = async (groupId: number, content: string) => {
     const response = await api.post('/api/messages/group', { groupId, content });
     return response.data;
@@ -145,6 +156,7 @@ export default {
     getGroupMessages,
     sendGroupMessage,
     getConversation,
+    mergeNewestPage,
     getAllUsers,
     deleteUser,
     checkFriendshipStatus
@@ -159,6 +159,13 @@ export interface ApiResponse<T> {
     [key: string]: any;
 }
 
+// Messages oldest first; pass nextCursor back as `before` for the page before them. It is null
+// once the start of the history has been loaded.
+export interface MessagePage<T> {
+    messages: T[];
+    nextCursor: string | null;
+}
+
 export interface JoinGroupRequest {
     inviteCode: string;
 }
\ No newline at end of file